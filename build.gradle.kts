@@ -1,3 +1,5 @@
+import org.yaml.snakeyaml.Yaml
+
 plugins {
     id("org.openrewrite.build.recipe-library") version "latest.release"
 }
@@ -132,3 +134,95 @@ springBootVersions.forEach { version ->
         dependsOn(testTask)
     }
 }
+
+val generateRecipeCatalogIndex by tasks.registering {
+    description = "Indexes the declarative recipes of META-INF/rewrite by name, so that only the recipes reachable from an activated one are loaded."
+    val catalog = fileTree("src/main/resources/META-INF/rewrite") { include("*.yml") }
+    val outputDir = layout.buildDirectory.dir("generated/resources/recipeCatalogIndex")
+    inputs.files(catalog)
+    outputs.dir(outputDir)
+    doLast {
+        // one line per recipe: name, catalog file, start and end offset of its document, and the recipes it references
+        val index = StringBuilder()
+        fun references(steps: Any?): List<String> = (steps as? List<*>).orEmpty().mapNotNull { step ->
+            when (step) {
+                is String -> step
+                is Map<*, *> -> step.keys.singleOrNull() as? String
+                else -> null
+            }
+        }
+        catalog.files.sortedBy { it.name }.forEach { file ->
+            val text = file.readText()
+            Yaml().composeAll(text.reader()).forEach { node ->
+                val start = node.startMark.index
+                val end = node.endMark.index
+                val recipe = Yaml().load<Any?>(text.substring(start, end)) as? Map<*, *>
+                val name = recipe?.get("name") as? String
+                if (name != null && recipe["type"] == "specs.openrewrite.org/v1beta/recipe") {
+                    val applicability = recipe["applicability"] as? Map<*, *>
+                    val referenced = (references(recipe["recipeList"]) +
+                                      references(applicability?.get("singleSource")) +
+                                      references(applicability?.get("anySource"))).distinct()
+                    index.append("$name\t${file.name}\t$start\t$end\t${referenced.joinToString(",")}\n")
+                }
+            }
+        }
+        val indexFile = outputDir.get().file("org/openrewrite/java/spring/recipe-catalog.idx").asFile
+        indexFile.parentFile.mkdirs()
+        indexFile.writeText(index.toString())
+    }
+}
+
+val generateSpringBootPropertyMigrations by tasks.registering {
+    description = "Tabulates the property key renames of the SpringBootProperties_* recipes of META-INF/rewrite, so that they can be composed across versions."
+    val catalog = fileTree("src/main/resources/META-INF/rewrite") { include("*.yml") }
+    val outputDir = layout.buildDirectory.dir("generated/resources/springBootPropertyMigrations")
+    inputs.files(catalog)
+    outputs.dir(outputDir)
+    doLast {
+        val table = StringBuilder()
+        table.append("# Property key renames of each Spring Boot version, as \"<version>\" lines followed by \"<old key><TAB><new key>\" lines.\n")
+        table.append("# A third column lists the children of the old key that a rename leaves in place, like the except option of ChangeSpringPropertyKey.\n")
+        table.append("# Generated from the SpringBootProperties_* recipes by the generateSpringBootPropertyMigrations task.\n")
+        catalog.files.sortedBy { it.name }.forEach { file ->
+            file.reader().use { reader ->
+                Yaml().loadAll(reader).filterIsInstance<Map<*, *>>().forEach { recipe ->
+                    val version = (recipe["name"] as? String)?.substringAfter(".SpringBootProperties_", "")
+                    if (!version.isNullOrEmpty()) {
+                        // in the order of the recipe list: the entries of each ChangeSpringPropertyKeys, and each ChangeSpringPropertyKey
+                        val renames = mutableListOf<String>()
+                        (recipe["recipeList"] as? List<*>).orEmpty().filterIsInstance<Map<*, *>>().forEach { step ->
+                            step.forEach { (stepName, options) ->
+                                val stepOptions = options as? Map<*, *> ?: emptyMap<Any, Any>()
+                                if (stepName == "org.openrewrite.java.spring.ChangeSpringPropertyKeys") {
+                                    (stepOptions["propertyKeys"] as? Map<*, *>).orEmpty().forEach { (oldKey, newKey) ->
+                                        renames.add("$oldKey\t$newKey")
+                                    }
+                                } else if (stepName == "org.openrewrite.java.spring.ChangeSpringPropertyKey") {
+                                    val oldKey = stepOptions["oldPropertyKey"]
+                                    val newKey = stepOptions["newPropertyKey"]
+                                    if (oldKey != null && newKey != null) {
+                                        val except = (stepOptions["except"] as? List<*>).orEmpty().joinToString(",")
+                                        renames.add(if (except.isEmpty()) "$oldKey\t$newKey" else "$oldKey\t$newKey\t$except")
+                                    }
+                                }
+                            }
+                        }
+                        if (renames.isNotEmpty()) {
+                            table.append(version.replace('_', '.')).append('\n')
+                            renames.forEach { table.append(it).append('\n') }
+                        }
+                    }
+                }
+            }
+        }
+        val tableFile = outputDir.get().file("org/openrewrite/java/spring/internal/spring-boot-property-migrations.tsv").asFile
+        tableFile.parentFile.mkdirs()
+        tableFile.writeText(table.toString())
+    }
+}
+
+sourceSets.main {
+    resources.srcDir(generateRecipeCatalogIndex)
+    resources.srcDir(generateSpringBootPropertyMigrations)
+}
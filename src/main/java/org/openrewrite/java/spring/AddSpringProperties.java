@@ -0,0 +1,210 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.MergeYaml;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+
+/**
+ * Adds many properties to Spring configuration files, like a list of {@link AddSpringProperty} recipes. All the
+ * properties are merged into a YAML file as a single YAML document, and appended to a properties file in a single
+ * visit, rather than once per property. A property is only added if it does not already exist within the
+ * configuration file.
+ * <P>
+ * NOTE: Like {@link AddSpringProperty}, this recipe will only make changes to files that match one of the
+ *       pathExpressions. If the recipe is configured without pathExpressions, it will query the execution context for
+ *       reasonable defaults.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class AddSpringProperties extends Recipe {
+
+    @Option(displayName = "Properties",
+            description = "A map of the property keys to add to their values.",
+            example = "management.metrics.enable.process.files: true")
+    Map<String, String> properties;
+
+    @Option(displayName = "Optional comments to be prepended to the properties",
+            description = "A map of property keys to a comment that will be added to the new property in YAML files.",
+            required = false,
+            example = "management.metrics.enable.process.files: This is a comment")
+    @Nullable
+    Map<String, String> comments;
+
+    @Option(displayName = "Optional list of file path matcher",
+            description = "Each value in this list represents a glob expression that is used to match which files will " +
+                          "be modified. If this value is not present, this recipe will query the execution context for " +
+                          "reasonable defaults. (\"**/application.yml\", \"**/application.yml\", and \"**/application.properties\".",
+            required = false,
+            example = "**/application.yml")
+    @Nullable
+    List<String> pathExpressions;
+
+    @Override
+    public String getDisplayName() {
+        return "Add spring configuration properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Add many spring configuration properties to configuration files if they do not already exist in those files.";
+    }
+
+    @Override
+    public Validated validate() {
+        Validated validated = super.validate();
+        if (properties != null) {
+            validated = validated.and(Validated.test("properties",
+                    "A property may not be nested beneath the value of another property.",
+                    properties, p -> !keyTree().hasNestedValues()));
+        }
+        return validated;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        MergeYaml mergeYaml = new MergeYaml("$", keyTree().toYaml(), true, null, null);
+        List<Properties.Entry> propertiesToAdd = parseProperties();
+
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File;
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                //Short circuit visitor navigation for everything except source file
+                if (tree instanceof SourceFile) {
+                    tree = super.visit(tree, ctx);
+                }
+                return tree;
+            }
+
+            @Override
+            public @Nullable Tree preVisit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents && AddSpringProperty.sourcePathMatches(((SourceFile) tree).getSourcePath(), pathExpressions, ctx)) {
+                    doAfterVisit(mergeYaml);
+                } else if (tree instanceof Properties.File && AddSpringProperty.sourcePathMatches(((SourceFile) tree).getSourcePath(), pathExpressions, ctx)) {
+                    tree = addProperties((Properties.File) tree, propertiesToAdd, ctx);
+                }
+                return tree;
+            }
+        };
+    }
+
+    private static Properties.File addProperties(Properties.File file, List<Properties.Entry> propertiesToAdd, ExecutionContext ctx) {
+        SpringPropertyIndex<Properties.Entry> existing = SpringPropertyIndex.properties(file, ctx);
+        List<Properties.Content> added = new ArrayList<>();
+        for (Properties.Entry entry : propertiesToAdd) {
+            if (!existing.contains(entry.getKey())) {
+                added.add(entry.withId(Tree.randomId())
+                        .withPrefix(file.getContent().isEmpty() && added.isEmpty() ? "" : "\n"));
+            }
+        }
+        return added.isEmpty() ? file : file.withContent(ListUtils.concatAll(file.getContent(), added));
+    }
+
+    /**
+     * The properties to add, parsed once so that each properties file only needs its missing entries appended.
+     */
+    private List<Properties.Entry> parseProperties() {
+        StringBuilder source = new StringBuilder();
+        properties.forEach((key, value) -> source.append(key).append('=').append(value).append('\n'));
+
+        List<Properties.Entry> entries = new ArrayList<>(properties.size());
+        for (Properties.File file : new PropertiesParser().parse(source.toString())) {
+            for (Properties.Content content : file.getContent()) {
+                if (content instanceof Properties.Entry) {
+                    entries.add((Properties.Entry) content);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private KeyNode keyTree() {
+        KeyNode root = new KeyNode();
+        properties.forEach((key, value) -> {
+            KeyNode node = root;
+            for (String part : key.split("\\.")) {
+                node = node.children.computeIfAbsent(part, p -> new KeyNode());
+            }
+            node.value = value;
+            node.comment = comments == null ? null : comments.get(key);
+        });
+        return root;
+    }
+
+    /**
+     * The added property keys, nested by their segments in the order they were given, from which a single YAML
+     * document holding every property is written.
+     */
+    private static class KeyNode {
+        private final Map<String, KeyNode> children = new LinkedHashMap<>();
+
+        @Nullable
+        private String value;
+
+        @Nullable
+        private String comment;
+
+        private boolean hasNestedValues() {
+            for (KeyNode child : children.values()) {
+                if ((child.value != null && !child.children.isEmpty()) || child.hasNestedValues()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private String toYaml() {
+            StringBuilder yaml = new StringBuilder();
+            appendYaml(yaml, "");
+            return yaml.toString();
+        }
+
+        private void appendYaml(StringBuilder yaml, String indent) {
+            children.forEach((part, child) -> {
+                if (yaml.length() > 0) {
+                    yaml.append("\n");
+                }
+                if (child.comment != null) {
+                    yaml.append(indent).append("# ").append(child.comment).append("\n");
+                }
+                yaml.append(indent).append(part).append(":");
+                if (child.value != null) {
+                    if (AddSpringProperty.quoteValue(child.value)) {
+                        yaml.append(" \"").append(child.value).append('"');
+                    } else {
+                        yaml.append(" ").append(child.value);
+                    }
+                } else {
+                    child.appendYaml(yaml, indent + "  ");
+                }
+            });
+        }
+    }
+}
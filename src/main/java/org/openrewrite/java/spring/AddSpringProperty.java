@@ -25,8 +25,6 @@ import org.openrewrite.yaml.MergeYaml;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.nio.file.Path;
-import java.nio.file.PathMatcher;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -109,28 +107,12 @@ public class AddSpringProperty extends Recipe {
     }
 
     private boolean sourcePathMatches(Path sourcePath, ExecutionContext ctx) {
-        List<String> expressions = pathExpressions;
-        if (expressions == null || pathExpressions.isEmpty()) {
-            //If not defined, get reasonable defaults from the execution context.
-            expressions = SpringExecutionContextView.view(ctx).getDefaultApplicationConfigurationPaths();
-        }
-        if (expressions.isEmpty()) {
-            return true;
-        }
-        for (String filePattern : expressions) {
-            if (filePattern.startsWith("**")) {
-                sourcePath = Paths.get(".").resolve(sourcePath.normalize());
-            } else {
-                sourcePath = sourcePath.normalize();
-            }
-
-            PathMatcher pathMatcher = sourcePath.getFileSystem().getPathMatcher("glob:" + filePattern);
-            if (pathMatcher.matches(sourcePath)) {
-                return true;
-            }
-        }
+        return sourcePathMatches(sourcePath, pathExpressions, ctx);
+    }
 
-        return false;
+    static boolean sourcePathMatches(Path sourcePath, @Nullable List<String> pathExpressions, ExecutionContext ctx) {
+        //If not defined, get reasonable defaults from the execution context.
+        return SpringExecutionContextView.view(ctx).getSourcePathMatcher(pathExpressions).matches(sourcePath);
     }
 
     private MergeYaml createMergeYamlVisitor() {
@@ -161,7 +143,7 @@ public class AddSpringProperty extends Recipe {
     }
 
     private static final Pattern scalarNeedsAQuote = Pattern.compile("[^a-zA-Z\\d\\s]*");
-    private boolean quoteValue(String value) {
+    static boolean quoteValue(String value) {
         return scalarNeedsAQuote.matcher(value).matches();
     }
 }
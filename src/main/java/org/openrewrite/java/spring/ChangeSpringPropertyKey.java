@@ -15,15 +15,20 @@
  */
 package org.openrewrite.java.spring;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 import org.openrewrite.*;
-import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.ParallelSourceFiles;
+import org.openrewrite.java.spring.internal.PropertyKeyPrefilter;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -61,8 +66,21 @@ public class ChangeSpringPropertyKey extends Recipe {
     @Nullable
     List<String> except;
 
+    /**
+     * Built once from the old property key, and used to skip files whose keys can't match before visiting them.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    transient Supplier<PropertyKeyPrefilter> prefilter = PropertyKeyPrefilter.lazy(() -> Collections.singletonList(this.oldPropertyKey));
+
     @Override
     protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
+        if ((except == null || except.isEmpty()) && !isGlob(oldPropertyKey)) {
+            // matches keys by their canonical form, like every other batch of property key changes, while a glob is
+            // still matched across dots as before
+            return ChangeSpringPropertyKeys.changeKeys(before, Collections.singletonMap(oldPropertyKey, newPropertyKey), prefilter.get(), ctx);
+        }
 
         org.openrewrite.yaml.ChangePropertyKey yamlChangePropertyKey =
                 new org.openrewrite.yaml.ChangePropertyKey(oldPropertyKey, newPropertyKey, true, null, except);
@@ -70,8 +88,14 @@ public class ChangeSpringPropertyKey extends Recipe {
                 new org.openrewrite.properties.ChangePropertyKey(oldPropertyKey, newPropertyKey, true, null, false);
         org.openrewrite.properties.ChangePropertyKey subpropertiesChangePropertyKey =
                 new org.openrewrite.properties.ChangePropertyKey(Pattern.quote(oldPropertyKey + ".") + exceptRegex() + "(.*)", newPropertyKey + ".$1", true, null, true);
+        // the prefilter ignores the segments of a glob, so that a glob that matches across dots is still found
+        PropertyKeyPrefilter keyPrefilter = prefilter.get();
         ExpandProperties expandYaml = new ExpandProperties();
-        return ListUtils.map(before, s -> {
+        return ParallelSourceFiles.map(before, ctx, s -> {
+            Set<String> keys = SpringPropertyIndex.keys(s, ctx);
+            if (keys != null && !keyPrefilter.mayContain(keys)) {
+                return s;
+            }
             if (s instanceof Yaml.Documents) {
                 Yaml.Documents after = (Yaml.Documents) yamlChangePropertyKey.getVisitor().visit(s, ctx);
                 if (after != s) {
@@ -86,6 +110,10 @@ public class ChangeSpringPropertyKey extends Recipe {
         });
     }
 
+    private static boolean isGlob(String key) {
+        return key.contains("*") || key.contains("?");
+    }
+
     private String exceptRegex() {
         return except == null || except.isEmpty()
                 ? ""
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.ParallelSourceFiles;
+import org.openrewrite.java.spring.internal.PropertyKeyPrefilter;
+import org.openrewrite.java.spring.internal.PropertyKeyTrie;
+import org.openrewrite.properties.PropertiesIsoVisitor;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Changes many spring application property keys across YAML and properties files, visiting each file once. This is
+ * equivalent to a list of {@link ChangeSpringPropertyKey} recipes, but rather than running one set of visitors per key,
+ * every key of a file is looked up in a trie of the old property keys.
+ * <P>
+ * When more than one old key matches a property, the longest (most specific) old key wins.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class ChangeSpringPropertyKeys extends Recipe {
+
+    @Option(displayName = "Property keys",
+            description = "A map of the property keys to rename to their new names. Old property keys support `*` as a glob for a single key segment.",
+            example = "server.servlet-path: server.servlet.path")
+    Map<String, String> propertyKeys;
+
+    /**
+     * Built once from the old property keys, and used to skip files whose keys can't match before visiting them.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    transient Supplier<PropertyKeyPrefilter> prefilter = PropertyKeyPrefilter.lazy(() -> this.propertyKeys.keySet());
+
+    @Override
+    public String getDisplayName() {
+        return "Change the keys of spring application properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Change many spring application property keys existing in either Properties or Yaml files in a single pass over each file.";
+    }
+
+    @Override
+    protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
+        return changeKeys(before, propertyKeys, prefilter.get(), ctx);
+    }
+
+    static List<SourceFile> changeKeys(List<SourceFile> before, Map<String, String> propertyKeys, PropertyKeyPrefilter prefilter,
+                                       ExecutionContext ctx) {
+        PropertyKeyTrie<String> renames = new PropertyKeyTrie<>();
+        propertyKeys.forEach(renames::put);
+        if (renames.isEmpty()) {
+            return before;
+        }
+
+        return ParallelSourceFiles.map(before, ctx, s -> {
+            Set<String> keys = SpringPropertyIndex.keys(s, ctx);
+            if (keys != null && !prefilter.mayContain(keys)) {
+                return s;
+            }
+            if (s instanceof Yaml.Documents) {
+                ChangeYamlPropertyKeysVisitor changeKeys = new ChangeYamlPropertyKeysVisitor(renames);
+                Yaml.Documents after = (Yaml.Documents) changeKeys.visitNonNull(s, ctx);
+                if (after != s) {
+                    s = ExpandProperties.expandChanged(after, changeKeys.changedMappings, changeKeys.enclosingMappings,
+                            changeKeys.movedEntryIds, ctx);
+                }
+            } else if (s instanceof Properties.File) {
+                s = (Properties.File) new ChangePropertiesKeysVisitor(renames).visitNonNull(s, ctx);
+            }
+            return s;
+        });
+    }
+
+    /**
+     * @param renames  The old property keys mapped to their new keys.
+     * @param segments The segments of a property key.
+     * @return The segments of the renamed key, or null if the key is not renamed.
+     */
+    @Nullable
+    static List<String> renamedKey(PropertyKeyTrie<String> renames, List<String> segments) {
+        PropertyKeyTrie.Match<String> match = renames.longestPrefixMatch(segments);
+        if (match == null) {
+            return null;
+        }
+
+        List<String> newSegments = PropertyKeyTrie.segments(match.getValue());
+        if (newSegments.size() > match.getLength() && PropertyKeyTrie.startsWith(segments, newSegments)) {
+            // The new key is nested beneath the old key and this property has already been moved there.
+            return null;
+        }
+
+        List<String> renamed = new ArrayList<>(newSegments.size() + segments.size() - match.getLength());
+        renamed.addAll(newSegments);
+        renamed.addAll(segments.subList(match.getLength(), segments.size()));
+        return renamed;
+    }
+
+    private static class ChangePropertiesKeysVisitor extends PropertiesIsoVisitor<ExecutionContext> {
+        private final PropertyKeyTrie<String> renames;
+
+        private ChangePropertiesKeysVisitor(PropertyKeyTrie<String> renames) {
+            this.renames = renames;
+        }
+
+        @Override
+        public Properties.Entry visitEntry(Properties.Entry entry, ExecutionContext ctx) {
+            Properties.Entry e = super.visitEntry(entry, ctx);
+            List<String> renamed = renamedKey(renames, PropertyKeyTrie.segments(e.getKey()));
+            return renamed == null ? e : e.withKey(String.join(".", renamed));
+        }
+    }
+
+    /**
+     * Renames YAML entries bottom-up. A renamed entry stays in its mapping when the new key is still beneath that
+     * mapping, otherwise it is moved to the deepest enclosing mapping that the new key is beneath. Mappings that are
+     * left empty by a move are removed. Dotted keys produced here are expanded afterwards by {@link ExpandProperties},
+     * which only needs to look at the mappings that received a renamed entry, and which also formats the moved entries
+     * once that is done.
+     */
+    private static class ChangeYamlPropertyKeysVisitor extends YamlIsoVisitor<ExecutionContext> {
+        private final PropertyKeyTrie<String> renames;
+        private final Map<UUID, List<Yaml.Mapping.Entry>> movedEntries = new HashMap<>();
+        private final Set<UUID> emptiedMappings = new HashSet<>();
+        private final Set<UUID> changedMappings = new HashSet<>();
+        private final Set<UUID> enclosingMappings = new HashSet<>();
+        private final Set<UUID> movedEntryIds = new HashSet<>();
+
+        private ChangeYamlPropertyKeysVisitor(PropertyKeyTrie<String> renames) {
+            this.renames = renames;
+        }
+
+        @Override
+        public Yaml.Mapping visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+            Yaml.Mapping m = super.visitMapping(mapping, ctx);
+            if (getCursor().firstEnclosing(Yaml.Sequence.class) != null) {
+                return m;
+            }
+
+            // The enclosing mappings, from the document root to this mapping, and the key depth of each of them.
+            List<Yaml.Mapping> mappings = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            Iterator<Object> path = getCursor().getPathAsIterator();
+            while (path.hasNext()) {
+                Object next = path.next();
+                if (next instanceof Yaml.Mapping) {
+                    mappings.add(0, (Yaml.Mapping) next);
+                } else if (next instanceof Yaml.Mapping.Entry) {
+                    keys.add(0, ((Yaml.Mapping.Entry) next).getKey().getValue());
+                }
+            }
+            List<String> prefix = new ArrayList<>();
+            int[] depths = new int[mappings.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                prefix.addAll(PropertyKeyTrie.segments(keys.get(i)));
+                depths[i + 1] = prefix.size();
+            }
+            int depth = prefix.size();
+
+            Yaml.Mapping original = m;
+            m = m.withEntries(ListUtils.map(m.getEntries(), e -> {
+                if (e.getValue() instanceof Yaml.Mapping && emptiedMappings.contains(e.getValue().getId())) {
+                    return null;
+                }
+                if (!(e.getKey() instanceof Yaml.Scalar)) {
+                    return e;
+                }
+
+                List<String> key = new ArrayList<>(prefix);
+                key.addAll(PropertyKeyTrie.segments(e.getKey().getValue()));
+                PropertyKeyTrie.Match<String> match = renames.longestPrefixMatch(key);
+                if (match == null || match.getLength() <= depth) {
+                    return e;
+                }
+                List<String> renamed = renamedKey(renames, key);
+                if (renamed == null) {
+                    return e;
+                }
+
+                int target = mappings.size() - 1;
+                while (target > 0 && (depths[target] >= renamed.size() ||
+                                      !PropertyKeyTrie.startsWith(renamed, prefix.subList(0, depths[target])))) {
+                    target--;
+                }
+
+                Yaml.Mapping.Entry renamedEntry = e.withKey(((Yaml.Scalar) e.getKey())
+                        .withValue(String.join(".", renamed.subList(depths[target], renamed.size()))));
+                changedMappings.add(mappings.get(target).getId());
+                for (int i = 0; i < target; i++) {
+                    enclosingMappings.add(mappings.get(i).getId());
+                }
+                if (target == mappings.size() - 1) {
+                    return renamedEntry;
+                }
+                movedEntries.computeIfAbsent(mappings.get(target).getId(), id -> new ArrayList<>()).add(renamedEntry);
+                return null;
+            }));
+
+            List<Yaml.Mapping.Entry> moved = movedEntries.remove(m.getId());
+            if (moved != null) {
+                String indent = indent(original);
+                List<Yaml.Mapping.Entry> entries = new ArrayList<>(m.getEntries().size() + moved.size());
+                entries.addAll(m.getEntries());
+                for (Yaml.Mapping.Entry entry : moved) {
+                    entries.add(entry.withPrefix(entries.isEmpty() ? original.getEntries().get(0).getPrefix() : "\n" + indent));
+                    movedEntryIds.add(entry.getId());
+                }
+                m = m.withEntries(entries);
+            }
+
+            if (m != original && m.getEntries().isEmpty()) {
+                emptiedMappings.add(m.getId());
+            }
+            return m;
+        }
+
+        private static String indent(Yaml.Mapping mapping) {
+            for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
+                int lineBreak = entry.getPrefix().lastIndexOf('\n');
+                if (lineBreak >= 0) {
+                    return entry.getPrefix().substring(lineBreak + 1);
+                }
+            }
+            return "";
+        }
+    }
+}
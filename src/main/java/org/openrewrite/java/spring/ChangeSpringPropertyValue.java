@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.PropertyKeyPrefilter;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+
+/**
+ * A recipe to change the value of a property in Spring configuration files. Keys are matched like
+ * {@link ChangeSpringPropertyValues}.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class ChangeSpringPropertyValue extends Recipe {
+
+    @Option(displayName = "Property key",
+            description = "The key of the property to change. Supports `*` as a glob for a single key segment.",
+            example = "management.metrics.binders.files.enabled")
+    String propertyKey;
+
+    @Option(displayName = "Old value",
+            description = "Only change the property when it has this value. Any value is changed if this is not given.",
+            example = "true",
+            required = false)
+    @Nullable
+    String oldValue;
+
+    @Option(displayName = "New value",
+            description = "The new value of the property.",
+            example = "false")
+    String newValue;
+
+    /**
+     * Built once from the property key, and used to skip files whose keys can't match before visiting them.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    transient Supplier<PropertyKeyPrefilter> prefilter = PropertyKeyPrefilter.lazy(() -> Collections.singletonList(this.propertyKey));
+
+    @Override
+    public String getDisplayName() {
+        return "Change the value of a spring application property";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Change the value of a spring application property existing in either Properties or Yaml files.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return ChangeSpringPropertyValues.visitor(Collections.singletonList(
+                new ChangeSpringPropertyValues.ValueChange(propertyKey, oldValue, newValue)), prefilter.get());
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.CanonicalPropertyKeys;
+import org.openrewrite.java.spring.internal.PropertyKeyPrefilter;
+import org.openrewrite.java.spring.internal.PropertyKeyTrie;
+import org.openrewrite.properties.PropertiesIsoVisitor;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Changes the values of many spring application properties across YAML and properties files, visiting each file once.
+ * Property keys are matched like {@link ChangeSpringPropertyKeys}: by their canonical form, with `*` as a glob for a
+ * single key segment, and the most specific key wins when more than one matches a property. Of the changes for that
+ * key, the first whose old value matches is made.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class ChangeSpringPropertyValues extends Recipe {
+
+    @Option(displayName = "Property value changes",
+            description = "The property values to change, each with a `propertyKey`, an optional `oldValue` that the " +
+                          "property must have (any value if it is not given) and its `newValue`.")
+    List<ValueChange> valueChanges;
+
+    /**
+     * Built once from the keys of the value changes, and used to skip files whose keys can't match before visiting them.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    transient Supplier<PropertyKeyPrefilter> prefilter = PropertyKeyPrefilter.lazy(() -> this.valueChanges.stream()
+            .map(ValueChange::getPropertyKey)
+            .collect(Collectors.toList()));
+
+    @Override
+    public String getDisplayName() {
+        return "Change the values of spring application properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Change many spring application property values existing in either Properties or Yaml files in a single pass over each file.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return visitor(valueChanges, prefilter.get());
+    }
+
+    static TreeVisitor<?, ExecutionContext> visitor(List<ValueChange> valueChanges, PropertyKeyPrefilter prefilter) {
+        PropertyKeyTrie<List<ValueChange>> changes = new PropertyKeyTrie<>();
+        valueChanges.stream()
+                .collect(Collectors.groupingBy(change -> CanonicalPropertyKeys.canonicalKey(change.getPropertyKey()),
+                        LinkedHashMap::new, Collectors.toList()))
+                .forEach(changes::put);
+
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return (sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File) && !changes.isEmpty();
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof SourceFile) {
+                    Set<String> keys = SpringPropertyIndex.keys((SourceFile) tree, ctx);
+                    if (keys != null && !prefilter.mayContain(keys)) {
+                        return tree;
+                    }
+                }
+                if (tree instanceof Yaml.Documents) {
+                    return new ChangeYamlPropertyValuesVisitor(changes).visit(tree, ctx);
+                } else if (tree instanceof Properties.File) {
+                    return new ChangePropertiesValuesVisitor(changes).visit(tree, ctx);
+                }
+                return tree;
+            }
+        };
+    }
+
+    @Value
+    public static class ValueChange {
+        /**
+         * The property key, which supports `*` as a glob for a single key segment.
+         */
+        String propertyKey;
+
+        /**
+         * The value to change, or null to change any value.
+         */
+        @Nullable
+        String oldValue;
+
+        String newValue;
+    }
+
+    /**
+     * @return The new value of the property, or null if it is unchanged.
+     */
+    @Nullable
+    private static String newValue(PropertyKeyTrie<List<ValueChange>> changes, String key, String value) {
+        List<String> segments = PropertyKeyTrie.segments(key);
+        PropertyKeyTrie.Match<List<ValueChange>> match = changes.longestPrefixMatch(segments);
+        if (match == null || match.getLength() != segments.size()) {
+            return null;
+        }
+        for (ValueChange change : match.getValue()) {
+            if (change.getOldValue() == null || change.getOldValue().equals(value)) {
+                return change.getNewValue().equals(value) ? null : change.getNewValue();
+            }
+        }
+        return null;
+    }
+
+    private static class ChangePropertiesValuesVisitor extends PropertiesIsoVisitor<ExecutionContext> {
+        private final PropertyKeyTrie<List<ValueChange>> changes;
+
+        private ChangePropertiesValuesVisitor(PropertyKeyTrie<List<ValueChange>> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public Properties.Entry visitEntry(Properties.Entry entry, ExecutionContext ctx) {
+            Properties.Entry e = super.visitEntry(entry, ctx);
+            String newValue = newValue(changes, e.getKey(), e.getValue().getText());
+            return newValue == null ? e : e.withValue(e.getValue().withText(newValue));
+        }
+    }
+
+    private static class ChangeYamlPropertyValuesVisitor extends YamlIsoVisitor<ExecutionContext> {
+        private final PropertyKeyTrie<List<ValueChange>> changes;
+        private final Deque<String> keys = new ArrayDeque<>();
+
+        private ChangeYamlPropertyValuesVisitor(PropertyKeyTrie<List<ValueChange>> changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            String key = keys.isEmpty() ? entry.getKey().getValue() : keys.peek() + "." + entry.getKey().getValue();
+            keys.push(key);
+            Yaml.Mapping.Entry e;
+            try {
+                e = super.visitMappingEntry(entry, ctx);
+            } finally {
+                keys.pop();
+            }
+
+            if (e.getValue() instanceof Yaml.Scalar && getCursor().firstEnclosing(Yaml.Sequence.class) == null) {
+                Yaml.Scalar scalar = (Yaml.Scalar) e.getValue();
+                String newValue = newValue(changes, key, scalar.getValue());
+                if (newValue != null) {
+                    e = e.withValue(scalar.withValue(newValue));
+                }
+            }
+            return e;
+        }
+    }
+}
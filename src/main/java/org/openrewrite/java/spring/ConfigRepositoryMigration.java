@@ -0,0 +1,208 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.InstanceCache;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.yaml.YamlParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs property recipes over a repository that holds only configuration files, like a Spring Cloud Config repository of
+ * `{application}-{profile}.yml` files, and writes the changed files back in place. Files are parsed, migrated and
+ * printed a fixed-size window at a time, so memory use does not grow with the number of files in the repository.
+ * <P>
+ * Each window is a separate run of the recipe, so this is only meant for recipes that change every file independently
+ * of the others, such as {@link ChangeSpringPropertyKey}, {@link DeleteSpringProperty}, {@link AddSpringProperty} and
+ * {@link PropertiesToKebabCase}. Directories whose name starts with a dot, like `.git`, are skipped.
+ * <P>
+ * A migration that only renames and deletes keys, created by {@link #renameAndDelete(Map, Collection)}, rewrites
+ * properties files line by line with a {@link StreamingPropertiesRewriter} instead of parsing them.
+ */
+public class ConfigRepositoryMigration {
+    private static final int DEFAULT_WINDOW_SIZE = 256;
+    private static final List<String> CONFIG_FILE_PATHS = Arrays.asList("**/*.yml", "**/*.yaml", "**/*.properties");
+
+    private final Recipe recipe;
+    private final int windowSize;
+
+    @Nullable
+    private final StreamingPropertiesRewriter propertiesRewriter;
+
+    public ConfigRepositoryMigration(Recipe recipe) {
+        this(recipe, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param recipe     The recipe to run on every window of configuration files.
+     * @param windowSize The largest number of files that are parsed and held in memory at once.
+     */
+    public ConfigRepositoryMigration(Recipe recipe, int windowSize) {
+        this(recipe, windowSize, null);
+    }
+
+    private ConfigRepositoryMigration(Recipe recipe, int windowSize, @Nullable StreamingPropertiesRewriter propertiesRewriter) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be positive, but was " + windowSize);
+        }
+        this.recipe = recipe;
+        this.windowSize = windowSize;
+        this.propertiesRewriter = propertiesRewriter;
+    }
+
+    /**
+     * @param propertyKeys The property keys to rename mapped to their new names, as in {@link ChangeSpringPropertyKeys}.
+     * @param deletedKeys  The property key globs to delete, as in {@link DeleteSpringProperties}.
+     * @return A migration that renames keys and then deletes keys, running {@link ChangeSpringPropertyKeys} and
+     * {@link DeleteSpringProperties} on YAML files and a {@link StreamingPropertiesRewriter} on properties files.
+     */
+    public static ConfigRepositoryMigration renameAndDelete(Map<String, String> propertyKeys, Collection<String> deletedKeys) {
+        Recipe recipe = new ChangeSpringPropertyKeys(propertyKeys);
+        recipe.doNext(new DeleteSpringProperties(new ArrayList<>(deletedKeys)));
+        return new ConfigRepositoryMigration(recipe, DEFAULT_WINDOW_SIZE, new StreamingPropertiesRewriter(propertyKeys, deletedKeys));
+    }
+
+    /**
+     * @param repository The root directory of the configuration repository.
+     * @param ctx        The execution context of every run of the recipe. Unless it has default application
+     *                   configuration paths of its own, every configuration file is one while migrating.
+     * @return The paths, relative to the repository, of the files that were changed, added or deleted.
+     */
+    public List<Path> migrate(Path repository, ExecutionContext ctx) throws IOException {
+        // the repository is listed before any file is written, created or deleted
+        List<Path> configFiles;
+        try (Stream<Path> files = Files.walk(repository)) {
+            configFiles = files
+                    .filter(file -> isConfigFile(repository, file))
+                    .collect(Collectors.toList());
+        }
+
+        // every file of the repository is a configuration file, which the default path expressions of recipes like
+        // AddSpringProperty, such as **/application.yml, would not match
+        SpringExecutionContextView view = SpringExecutionContextView.view(ctx);
+        boolean defaultPaths = view.getMessage(SpringExecutionContextView.DEFAULT_APPLICATION_CONFIGURATION_PATHS) == null;
+        if (defaultPaths) {
+            view.setDefaultApplicationConfigurationPaths(CONFIG_FILE_PATHS);
+        }
+
+        Set<Path> changed = new LinkedHashSet<>();
+        try {
+            List<Path> window = new ArrayList<>(windowSize);
+            for (Iterator<Path> files = configFiles.iterator(); files.hasNext(); ) {
+                Path file = files.next();
+                if (propertiesRewriter != null && isProperties(file)) {
+                    if (rewriteProperties(propertiesRewriter, file)) {
+                        changed.add(repository.relativize(file));
+                    }
+                } else {
+                    window.add(file);
+                }
+                if (window.size() == windowSize || (!files.hasNext() && !window.isEmpty())) {
+                    migrateWindow(repository, window, ctx, changed);
+                    window.clear();
+                    // nothing that was cached for the files of this window is looked up again
+                    InstanceCache.clear(ctx);
+                }
+            }
+        } finally {
+            if (defaultPaths) {
+                ctx.pollMessage(SpringExecutionContextView.DEFAULT_APPLICATION_CONFIGURATION_PATHS);
+            }
+        }
+        return new ArrayList<>(changed);
+    }
+
+    private void migrateWindow(Path repository, List<Path> window, ExecutionContext ctx, Set<Path> changed) throws IOException {
+        List<SourceFile> sourceFiles = new ArrayList<>(window.size());
+        sourceFiles.addAll(new YamlParser().parse(window.stream()
+                .filter(file -> !isProperties(file))
+                .collect(Collectors.toList()), repository, ctx));
+        sourceFiles.addAll(new PropertiesParser().parse(window.stream()
+                .filter(ConfigRepositoryMigration::isProperties)
+                .collect(Collectors.toList()), repository, ctx));
+
+        for (Result result : recipe.run(sourceFiles, ctx)) {
+            SourceFile before = result.getBefore();
+            SourceFile after = result.getAfter();
+            if (before != null && (after == null || !before.getSourcePath().equals(after.getSourcePath()))) {
+                Files.delete(repository.resolve(before.getSourcePath()));
+                changed.add(before.getSourcePath());
+            }
+            if (after != null) {
+                Path file = repository.resolve(after.getSourcePath());
+                Path directory = file.getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
+                Charset charset = after.getCharset() == null ? StandardCharsets.UTF_8 : after.getCharset();
+                Files.write(file, after.printAll().getBytes(charset));
+                changed.add(after.getSourcePath());
+            }
+        }
+    }
+
+    /**
+     * Rewrites a properties file line by line in ISO-8859-1, the encoding of properties files, which maps every byte to a
+     * character and back, so that any byte the rewriter does not change is written back as it was read.
+     */
+    private static boolean rewriteProperties(StreamingPropertiesRewriter rewriter, Path file) throws IOException {
+        Path rewritten = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            boolean changed;
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1);
+                 BufferedWriter writer = Files.newBufferedWriter(rewritten, StandardCharsets.ISO_8859_1)) {
+                changed = rewriter.rewrite(reader, writer);
+            }
+            if (changed) {
+                Files.move(rewritten, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return changed;
+        } finally {
+            Files.deleteIfExists(rewritten);
+        }
+    }
+
+    private static boolean isConfigFile(Path repository, Path file) {
+        for (Path name : repository.relativize(file)) {
+            if (name.toString().startsWith(".")) {
+                return false;
+            }
+        }
+        String fileName = file.getFileName().toString();
+        return Files.isRegularFile(file) &&
+               (fileName.endsWith(".yml") || fileName.endsWith(".yaml") || fileName.endsWith(".properties"));
+    }
+
+    private static boolean isProperties(Path file) {
+        return file.getFileName().toString().endsWith(".properties");
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.CanonicalPropertyKeys;
+import org.openrewrite.java.spring.internal.PropertyKeyTrie;
+import org.openrewrite.properties.PropertiesIsoVisitor;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A recipe to remove many properties (or matching property groups) from Spring configuration files in a single pass
+ * over each file. The property key globs are compiled into one matcher, and a property is deleted when its full key
+ * matches any of them. A YAML entry is deleted along with everything nested beneath it, and YAML mappings that are left
+ * empty are removed as well.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class DeleteSpringProperties extends Recipe {
+
+    @Option(displayName = "Property keys",
+            description = "The property keys to delete. Supports glob expressions",
+            example = "management.endpoint.configprops.*")
+    List<String> propertyKeys;
+
+    @Override
+    public String getDisplayName() {
+        return "Delete spring configuration properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Delete spring configuration properties from any configuration file that contains a matching key.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        KeyMatcher keyMatcher = new KeyMatcher(propertyKeys);
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File;
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents) {
+                    return new DeleteYamlPropertiesVisitor(keyMatcher).visit(tree, ctx);
+                } else if (tree instanceof Properties.File) {
+                    return new DeletePropertiesVisitor(keyMatcher).visit(tree, ctx);
+                }
+                return tree;
+            }
+        };
+    }
+
+    /**
+     * Every property key glob, as a single regular expression over keys folded for relaxed binding.
+     */
+    static class KeyMatcher {
+        private final Pattern pattern;
+
+        KeyMatcher(Collection<String> globs) {
+            StringJoiner alternatives = new StringJoiner("|");
+            for (String glob : globs) {
+                String canonical = CanonicalPropertyKeys.canonicalKey(glob);
+                StringBuilder regex = new StringBuilder();
+                for (int i = 0; i < canonical.length(); i++) {
+                    char c = canonical.charAt(i);
+                    if (c == '*') {
+                        regex.append(".*");
+                    } else if (c == '?') {
+                        regex.append('.');
+                    } else if (Character.isLetterOrDigit(c)) {
+                        regex.append(c);
+                    } else {
+                        regex.append('\\').append(c);
+                    }
+                }
+                alternatives.add("(?:" + regex + ")");
+            }
+            this.pattern = Pattern.compile(alternatives.toString());
+        }
+
+        /**
+         * @param parentKey The canonical key of the enclosing properties, or null for a top level property.
+         * @param key       A property key, which may have several segments.
+         * @return true if the full key of the property, made of the parent key and this key, matches.
+         */
+        boolean matches(@Nullable String parentKey, String key) {
+            StringBuilder fullKey = new StringBuilder();
+            if (parentKey != null) {
+                fullKey.append(parentKey);
+            }
+            for (String segment : PropertyKeyTrie.segments(key)) {
+                if (fullKey.length() > 0) {
+                    fullKey.append('.');
+                }
+                fullKey.append(CanonicalPropertyKeys.canonicalSegment(segment));
+            }
+            return pattern.matcher(fullKey).matches();
+        }
+    }
+
+    /**
+     * @param deletedPrefix  The prefix of the first line or entry, which was deleted.
+     * @param survivorPrefix The prefix of the first line or entry that remains.
+     * @return The prefix of the remaining line or entry, which keeps its own comments but takes the leading whitespace
+     * of the deleted one.
+     */
+    private static String firstPrefix(String deletedPrefix, String survivorPrefix) {
+        return leadingWhitespace(deletedPrefix) + survivorPrefix.substring(leadingWhitespace(survivorPrefix).length());
+    }
+
+    private static String leadingWhitespace(String prefix) {
+        int i = 0;
+        while (i < prefix.length() && Character.isWhitespace(prefix.charAt(i))) {
+            i++;
+        }
+        return prefix.substring(0, i);
+    }
+
+    private static class DeletePropertiesVisitor extends PropertiesIsoVisitor<ExecutionContext> {
+        private final KeyMatcher keyMatcher;
+
+        private DeletePropertiesVisitor(KeyMatcher keyMatcher) {
+            this.keyMatcher = keyMatcher;
+        }
+
+        @Override
+        public Properties.File visitFile(Properties.File file, ExecutionContext ctx) {
+            Properties.File f = super.visitFile(file, ctx);
+            List<Properties.Content> content = ListUtils.map(f.getContent(), c ->
+                    c instanceof Properties.Entry && keyMatcher.matches(null, ((Properties.Entry) c).getKey()) ? null : c);
+            if (content != f.getContent() && !content.isEmpty() && !content.get(0).getId().equals(f.getContent().get(0).getId())) {
+                // the first remaining line takes the place of the first line that was deleted
+                String deletedPrefix = prefix(f.getContent().get(0));
+                content = ListUtils.mapFirst(content, c -> withPrefix(c, firstPrefix(deletedPrefix, prefix(c))));
+            }
+            return f.withContent(content);
+        }
+
+        private static String prefix(Properties.Content content) {
+            return content instanceof Properties.Entry ? ((Properties.Entry) content).getPrefix() :
+                    content instanceof Properties.Comment ? ((Properties.Comment) content).getPrefix() : "";
+        }
+
+        private static Properties.Content withPrefix(Properties.Content content, String prefix) {
+            return content instanceof Properties.Entry ? ((Properties.Entry) content).withPrefix(prefix) :
+                    content instanceof Properties.Comment ? ((Properties.Comment) content).withPrefix(prefix) : content;
+        }
+    }
+
+    static class DeleteYamlPropertiesVisitor extends YamlIsoVisitor<ExecutionContext> {
+        private final KeyMatcher keyMatcher;
+        private final Deque<String> keys = new ArrayDeque<>();
+        private final Set<UUID> emptiedMappings = new HashSet<>();
+
+        DeleteYamlPropertiesVisitor(KeyMatcher keyMatcher) {
+            this.keyMatcher = keyMatcher;
+        }
+
+        /**
+         * @param parentKey The canonical key of the mapping that holds the entry, or null for a top level entry.
+         * @return true if the entry, and everything beneath it, is deleted.
+         */
+        boolean delete(@Nullable String parentKey, Yaml.Mapping.Entry entry) {
+            return keyMatcher.matches(parentKey, entry.getKey().getValue());
+        }
+
+        @Override
+        public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            String key = keys.isEmpty() ?
+                    CanonicalPropertyKeys.canonicalKey(entry.getKey().getValue()) :
+                    keys.peek() + "." + CanonicalPropertyKeys.canonicalKey(entry.getKey().getValue());
+            keys.push(key);
+            try {
+                return super.visitMappingEntry(entry, ctx);
+            } finally {
+                keys.pop();
+            }
+        }
+
+        @Override
+        public Yaml.Mapping visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+            if (getCursor().firstEnclosing(Yaml.Sequence.class) != null) {
+                return mapping;
+            }
+
+            String parentKey = keys.peek();
+            Yaml.Mapping m = mapping.withEntries(ListUtils.map(mapping.getEntries(), e ->
+                    delete(parentKey, e) ? null : e));
+            m = super.visitMapping(m, ctx);
+            m = m.withEntries(ListUtils.map(m.getEntries(), e ->
+                    e.getValue() instanceof Yaml.Mapping && emptiedMappings.contains(e.getValue().getId()) ? null : e));
+
+            if (m.getEntries().isEmpty()) {
+                if (!mapping.getEntries().isEmpty()) {
+                    emptiedMappings.add(m.getId());
+                }
+            } else if (!m.getEntries().get(0).getId().equals(mapping.getEntries().get(0).getId())) {
+                // the first remaining entry takes the place of the first entry that was deleted
+                String deletedPrefix = mapping.getEntries().get(0).getPrefix();
+                m = m.withEntries(ListUtils.mapFirst(m.getEntries(), e -> e.withPrefix(firstPrefix(deletedPrefix, e.getPrefix()))));
+            }
+            return m;
+        }
+    }
+}
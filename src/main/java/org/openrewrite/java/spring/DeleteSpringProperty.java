@@ -17,15 +17,16 @@ package org.openrewrite.java.spring;
 
 import lombok.EqualsAndHashCode;
 import lombok.Value;
-import org.openrewrite.*;
-import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.properties.DeleteProperty;
-import org.openrewrite.properties.tree.Properties;
-import org.openrewrite.yaml.tree.Yaml;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+
+import java.util.Collections;
 
 /**
  * A recipe to remove a property (or matching property group) from Spring configuration files. This recipe supports deleting properties from
- * ".properties" and YAML files.
+ * ".properties" and YAML files. Keys are matched like {@link DeleteSpringProperties}.
  */
 @Value
 @EqualsAndHashCode(callSuper = true)
@@ -48,30 +49,6 @@ public class DeleteSpringProperty extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new TreeVisitor<Tree, ExecutionContext>() {
-            @Override
-            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
-                return sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File;
-            }
-
-            @Override
-            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                //Short circuit visitor navigation for everything except source file
-                if (tree instanceof SourceFile) {
-                    tree = super.visit(tree, ctx);
-                }
-                return tree;
-            }
-
-            @Override
-            public @Nullable Tree preVisit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (tree instanceof Yaml.Documents) {
-                    doAfterVisit(new org.openrewrite.yaml.DeleteProperty(propertyKey, false, true, null));
-                } else if (tree instanceof Properties.File) {
-                    doAfterVisit(new DeleteProperty(propertyKey, true, null));
-                }
-                return tree;
-            }
-        };
+        return new DeleteSpringProperties(Collections.singletonList(propertyKey)).getVisitor();
     }
 }
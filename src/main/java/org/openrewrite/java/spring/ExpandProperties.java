@@ -17,15 +17,14 @@ package org.openrewrite.java.spring;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import org.openrewrite.*;
-import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SourcePathMatcher;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.yaml.YamlVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 import static java.util.Collections.singletonList;
 import static org.openrewrite.Tree.randomId;
@@ -61,7 +60,7 @@ public class ExpandProperties extends Recipe {
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
         if (sourceFileMask != null) {
-            return new HasSourcePath<>(sourceFileMask);
+            return SourcePathMatcher.of(singletonList(sourceFileMask)).asVisitor();
         }
         return null;
     }
@@ -72,21 +71,152 @@ public class ExpandProperties extends Recipe {
             @Override
             public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext executionContext) {
                 Yaml docs = super.visitDocuments(documents, executionContext);
-                Yaml docsExpanded = new ExpandEntriesVisitor().visitNonNull(docs, executionContext);
+                DeferredFormat deferredFormat = new DeferredFormat();
+                Yaml docsExpanded = new ExpandEntriesVisitor(null, deferredFormat).visitNonNull(docs, executionContext);
                 if (docsExpanded != docs) {
-                    docs = new CoalesceEntriesVisitor().visitNonNull(docsExpanded, executionContext);
+                    docs = new CoalesceEntriesVisitor(null, deferredFormat).visitNonNull(docsExpanded, executionContext);
+                    docs = deferredFormat.format(docs, executionContext);
                 }
                 return docs;
             }
         };
     }
 
+    /**
+     * Expand and coalesce only the mappings that were changed by a recipe, rather than the whole document.
+     *
+     * @param documents         The YAML documents to expand.
+     * @param changedMappings   The ids of the mappings that were changed. These mappings and everything beneath them are
+     *                          expanded and coalesced.
+     * @param enclosingMappings The ids of the mappings that enclose a changed mapping. No other mappings are visited.
+     * @param movedEntries      The ids of the entries that a recipe moved to another mapping without formatting them.
+     *                          They are formatted along with the expanded entries and coalesced mappings.
+     * @param ctx               The execution context.
+     * @return The expanded YAML documents.
+     */
+    static Yaml.Documents expandChanged(Yaml.Documents documents, Set<UUID> changedMappings, Set<UUID> enclosingMappings,
+                                        Set<UUID> movedEntries, ExecutionContext ctx) {
+        if (changedMappings.isEmpty()) {
+            return documents;
+        }
+        ChangedRegion region = new ChangedRegion(changedMappings, enclosingMappings);
+        DeferredFormat deferredFormat = new DeferredFormat();
+        deferredFormat.expandedEntries.addAll(movedEntries);
+        Yaml.Documents expanded = (Yaml.Documents) new ExpandEntriesVisitor(region, deferredFormat).visitNonNull(documents, ctx);
+        if (expanded != documents) {
+            expanded = (Yaml.Documents) new CoalesceEntriesVisitor(region, deferredFormat).visitNonNull(expanded, ctx);
+        }
+        return deferredFormat.format(expanded, ctx);
+    }
+
+    /**
+     * Restricts expansion to the mappings that were changed. Mappings outside the region are not descended into.
+     */
+    private static class ChangedRegion {
+        private final Set<UUID> changedMappings;
+        private final Set<UUID> enclosingMappings;
+        private int changedDepth;
+
+        private ChangedRegion(Set<UUID> changedMappings, Set<UUID> enclosingMappings) {
+            this.changedMappings = changedMappings;
+            this.enclosingMappings = enclosingMappings;
+        }
+
+        boolean isChanged() {
+            return changedDepth > 0;
+        }
+
+        <T> T visit(Yaml.Mapping mapping, Supplier<T> visitMapping, T unvisited) {
+            if (changedMappings.contains(mapping.getId())) {
+                changedDepth++;
+                try {
+                    return visitMapping.get();
+                } finally {
+                    changedDepth--;
+                }
+            } else if (changedDepth > 0 || enclosingMappings.contains(mapping.getId())) {
+                return visitMapping.get();
+            }
+            return unvisited;
+        }
+    }
+
+    /**
+     * The subtrees that were restructured while expanding and coalescing documents. Each is formatted once, after the
+     * documents have been visited, rather than every time it changes: an expanded or moved entry with its new mappings,
+     * or a mapping whose entries were coalesced. Formatting a subtree also formats every recorded subtree beneath it.
+     */
+    private static class DeferredFormat {
+        private final Set<UUID> expandedEntries = new HashSet<>();
+        private final Set<UUID> coalescedMappings = new HashSet<>();
+
+        <Y extends Yaml> Y format(Y yaml, ExecutionContext ctx) {
+            if (expandedEntries.isEmpty() && coalescedMappings.isEmpty()) {
+                return yaml;
+            }
+            //noinspection unchecked
+            return (Y) new YamlVisitor<ExecutionContext>() {
+                @Override
+                public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+                    if (coalescedMappings.contains(mapping.getId())) {
+                        //noinspection ConstantConditions
+                        return autoFormat(mapping, ctx,
+                                getCursor().getParent().getValue() instanceof Yaml.Document ? getCursor().getParent() : getCursor());
+                    }
+                    return super.visitMapping(mapping, ctx);
+                }
+
+                @Override
+                public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+                    if (expandedEntries.contains(entry.getId())) {
+                        return autoFormat(entry, ctx, getCursor().getParentOrThrow());
+                    }
+                    return super.visitMappingEntry(entry, ctx);
+                }
+            }.visitNonNull(yaml, ctx);
+        }
+    }
+
+    /**
+     * Expands dotted keys into nested mappings. A dotted key is left as it is when expanding it would put a mapping
+     * next to an entry with the same key and a scalar or sequence value, as in `server: default` and `server.port: 80`,
+     * since the two can't be coalesced and the expanded document would have duplicate keys.
+     */
     private static class ExpandEntriesVisitor extends YamlVisitor<ExecutionContext> {
+        @Nullable
+        private final ChangedRegion region;
+
+        private final DeferredFormat deferredFormat;
+
+        /**
+         * For every mapping being visited, from the innermost outwards, the dotted keys beneath it that have a value
+         * other than a mapping, or null if they have not been needed yet.
+         */
+        private final List<Set<String>> valueKeys = new ArrayList<>();
+
+        private ExpandEntriesVisitor(@Nullable ChangedRegion region, DeferredFormat deferredFormat) {
+            this.region = region;
+            this.deferredFormat = deferredFormat;
+        }
+
+        @Override
+        public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+            valueKeys.add(null);
+            try {
+                return region == null ?
+                        super.visitMapping(mapping, ctx) :
+                        region.visit(mapping, () -> super.visitMapping(mapping, ctx), mapping);
+            } finally {
+                valueKeys.remove(valueKeys.size() - 1);
+            }
+        }
+
         @Override
         public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
             Yaml.Mapping.Entry e = entry;
             String key = e.getKey().getValue();
-            if (key.contains(".") && e.getKey() instanceof Yaml.Scalar) {
+            if (key.contains(".") && e.getKey() instanceof Yaml.Scalar && (region == null || region.isChanged()) &&
+                !conflictsWithValue(key)) {
                 e = e.withKey(((Yaml.Scalar)e.getKey()).withValue(key.substring(0, key.indexOf('.'))));
                 e = e.withValue(new Yaml.Mapping(
                         randomId(),
@@ -111,53 +241,102 @@ public class ExpandProperties extends Recipe {
                         null,
                         null
                 ));
-                e = autoFormat(e, ctx, getCursor().getParentOrThrow());
+                deferredFormat.expandedEntries.add(e.getId());
             }
             return super.visitMappingEntry(e, ctx);
         }
+
+        private boolean conflictsWithValue(String key) {
+            if (valueKeys.isEmpty()) {
+                return false;
+            }
+            Set<String> enclosingValueKeys = valueKeys.get(valueKeys.size() - 1);
+            if (enclosingValueKeys == null) {
+                enclosingValueKeys = new HashSet<>();
+                Yaml.Mapping mapping = getCursor().firstEnclosing(Yaml.Mapping.class);
+                if (mapping != null) {
+                    addValueKeys(mapping, "", enclosingValueKeys);
+                }
+                valueKeys.set(valueKeys.size() - 1, enclosingValueKeys);
+            }
+            for (int dot = key.indexOf('.'); dot >= 0; dot = key.indexOf('.', dot + 1)) {
+                if (enclosingValueKeys.contains(key.substring(0, dot))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static void addValueKeys(Yaml.Mapping mapping, String prefix, Set<String> valueKeys) {
+            for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
+                String key = prefix + entry.getKey().getValue();
+                if (entry.getValue() instanceof Yaml.Mapping) {
+                    addValueKeys((Yaml.Mapping) entry.getValue(), key + ".", valueKeys);
+                } else {
+                    valueKeys.add(key);
+                }
+            }
+        }
     }
 
     private static class CoalesceEntriesVisitor extends YamlVisitor<ExecutionContext> {
+        @Nullable
+        private final ChangedRegion region;
+
+        private final DeferredFormat deferredFormat;
+
+        private CoalesceEntriesVisitor(@Nullable ChangedRegion region, DeferredFormat deferredFormat) {
+            this.region = region;
+            this.deferredFormat = deferredFormat;
+        }
+
         @Override
         public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
-            Map<String, List<Yaml.Mapping>> mappingsByKey = new HashMap<>();
+            if (region == null) {
+                return coalesce(mapping, ctx);
+            }
+            return region.visit(mapping, () -> region.isChanged() ? coalesce(mapping, ctx) : super.visitMapping(mapping, ctx), mapping);
+        }
+
+        /**
+         * Merge every group of entries with the same key and mapping values into the first entry of the group, in a
+         * single sweep over the entries, and defer formatting the mapping if anything was merged. Entries whose key is
+         * shared with an entry that has a scalar or sequence value are not merged, as the conflict can't be resolved
+         * without losing a value.
+         */
+        private Yaml coalesce(Yaml.Mapping mapping, ExecutionContext ctx) {
+            Map<String, List<Yaml.Mapping.Entry>> entriesByKey = new HashMap<>();
+            Set<String> valueKeys = new HashSet<>();
             for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
                 if (entry.getValue() instanceof Yaml.Mapping) {
-                    mappingsByKey.computeIfAbsent(entry.getKey().getValue(), v -> new ArrayList<>()).add((Yaml.Mapping)entry.getValue());
+                    entriesByKey.computeIfAbsent(entry.getKey().getValue(), k -> new ArrayList<>(1)).add(entry);
+                } else {
+                    valueKeys.add(entry.getKey().getValue());
                 }
             }
+            entriesByKey.keySet().removeAll(valueKeys);
+            boolean duplicates = false;
+            for (List<Yaml.Mapping.Entry> sameKey : entriesByKey.values()) {
+                duplicates |= sameKey.size() > 1;
+            }
 
-            for (Map.Entry<String, List<Yaml.Mapping>> keyMappings : mappingsByKey.entrySet()) {
-                if (keyMappings.getValue().size() > 1) {
-                    Yaml.Mapping newMapping = new Yaml.Mapping(
-                            randomId(),
-                            Markers.EMPTY,
-                            null,
-                            keyMappings.getValue().stream().flatMap(duplicateMapping -> duplicateMapping.getEntries().stream())
-                                    .collect(Collectors.toList()),
-                            null,
-                            null
-                    );
-                    Yaml.Mapping.Entry newEntry = new Yaml.Mapping.Entry(randomId(),
-                            "",
-                            Markers.EMPTY,
-                            new Yaml.Scalar(randomId(), "", Markers.EMPTY, Yaml.Scalar.Style.PLAIN, null, keyMappings.getKey()),
-                            "", newMapping);
-
-                    AtomicInteger insertIndex = new AtomicInteger(-1);
-                    mapping = mapping.withEntries(ListUtils.map(mapping.getEntries(), (i, ent) -> {
-                        if (ent.getKey().getValue().equals(keyMappings.getKey())) {
-                            if (insertIndex.get() < 0) {
-                                insertIndex.set(i);
-                            }
-                            return null;
+            if (duplicates) {
+                List<Yaml.Mapping.Entry> coalesced = new ArrayList<>(mapping.getEntries().size());
+                for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
+                    List<Yaml.Mapping.Entry> sameKey = entry.getValue() instanceof Yaml.Mapping ?
+                            entriesByKey.get(entry.getKey().getValue()) : null;
+                    if (sameKey == null || sameKey.size() == 1) {
+                        coalesced.add(entry);
+                    } else if (sameKey.get(0) == entry) {
+                        List<Yaml.Mapping.Entry> mergedEntries = new ArrayList<>();
+                        for (Yaml.Mapping.Entry duplicate : sameKey) {
+                            mergedEntries.addAll(((Yaml.Mapping) duplicate.getValue()).getEntries());
                         }
-                        return ent;
-                    }));
-                    //noinspection ConstantConditions
-                    mapping = maybeAutoFormat(mapping, mapping.withEntries(ListUtils.insertAll(mapping.getEntries(), insertIndex.get(), Collections.singletonList(newEntry))),
-                            ctx, getCursor().getParent().getValue() instanceof Yaml.Document ? getCursor().getParent() : getCursor());
+                        coalesced.add(entry.withValue(((Yaml.Mapping) entry.getValue()).withEntries(mergedEntries)));
+                    }
                 }
+                mapping = mapping.withEntries(coalesced);
+                deferredFormat.coalescedMappings.add(mapping.getId());
             }
             return super.visitMapping(mapping, ctx);
         }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SpringBootPropertyMigrations;
+
+/**
+ * Applies the property key renames of every Spring Boot version between two versions in as few passes as possible.
+ * Keys that are renamed more than once along the way (for example in 2.0 and again in 2.6) are moved straight to their
+ * final name. The `UpgradeSpringBoot_2_*` chains of the recipe catalog use this recipe once, in place of the
+ * `SpringBootProperties_2_*` recipe of each version.
+ * <P>
+ * The renames are read from a precompiled table, rather than by building the `SpringBootProperties_*` recipes of each
+ * version, and planned into {@link ChangeSpringPropertyKeys} and {@link ChangeSpringPropertyKey} recipes that run
+ * after this one.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class MigrateSpringBootPropertyKeys extends Recipe {
+
+    @Option(displayName = "From Spring Boot version",
+            description = "The Spring Boot version the application is migrated from. Only the property key changes of later " +
+                          "versions are applied. If not specified, the changes of every version up to the target version are applied.",
+            example = "2.3",
+            required = false)
+    @Nullable
+    String fromVersion;
+
+    @Option(displayName = "To Spring Boot version",
+            description = "The Spring Boot version the application is migrated to.",
+            example = "3.0")
+    String toVersion;
+
+    @JsonCreator
+    public MigrateSpringBootPropertyKeys(@Nullable @JsonProperty("fromVersion") String fromVersion,
+                                         @JsonProperty("toVersion") String toVersion) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        for (Recipe pass : SpringBootPropertyMigrations.plan(fromVersion, toVersion)) {
+            doNext(pass);
+        }
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Migrate Spring Boot property keys across versions";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Change the keys of Spring Boot properties in `application.properties` and `application.yml` that were " +
+               "renamed between two Spring Boot versions, composing renames from several versions into one.";
+    }
+}
@@ -17,10 +17,10 @@ package org.openrewrite.java.spring;
 
 import lombok.EqualsAndHashCode;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.HasSourcePath;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.internal.NameCaseConvention;
+import org.openrewrite.java.spring.internal.CanonicalPropertyKeys;
+import org.openrewrite.java.spring.internal.SourcePathMatcher;
 import org.openrewrite.properties.PropertiesIsoVisitor;
 import org.openrewrite.properties.PropertiesVisitor;
 import org.openrewrite.properties.tree.Properties;
@@ -28,6 +28,8 @@ import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.YamlVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
+import java.util.Collections;
+
 public class PropertiesToKebabCase extends Recipe {
     public PropertiesToKebabCase() {
         doNext(new PropertiesToKebabCaseYaml());
@@ -57,7 +59,7 @@ public class PropertiesToKebabCase extends Recipe {
 
         @Override
         protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-            return new HasSourcePath<>("**/application*.{yml,yaml}");
+            return SourcePathMatcher.of(Collections.singletonList("**/application*.{yml,yaml}")).asVisitor();
         }
 
         @Override
@@ -68,7 +70,7 @@ public class PropertiesToKebabCase extends Recipe {
                     Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
                     if (e.getKey() instanceof Yaml.Scalar) {
                         String key = e.getKey().getValue();
-                        String asKebabCase = NameCaseConvention.LOWER_HYPHEN.format(key);
+                        String asKebabCase = CanonicalPropertyKeys.kebabCase(key);
                         if (!key.equals(asKebabCase)) {
                             return e.withKey(((Yaml.Scalar)e.getKey()).withValue(asKebabCase));
                         }
@@ -88,7 +90,7 @@ public class PropertiesToKebabCase extends Recipe {
 
         @Override
         protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-            return new HasSourcePath<>("**/application*.properties");
+            return SourcePathMatcher.of(Collections.singletonList("**/application*.properties")).asVisitor();
         }
 
         @Override
@@ -98,7 +100,7 @@ public class PropertiesToKebabCase extends Recipe {
                 public Properties.Entry visitEntry(Properties.Entry entry, ExecutionContext executionContext) {
                     Properties.Entry e = super.visitEntry(entry, executionContext);
                     String key = e.getKey();
-                    String asKebabCase = NameCaseConvention.LOWER_HYPHEN.format(key);
+                    String asKebabCase = CanonicalPropertyKeys.kebabCase(key);
                     if (!key.equals(asKebabCase)) {
                         return e.withKey(asKebabCase);
                     }
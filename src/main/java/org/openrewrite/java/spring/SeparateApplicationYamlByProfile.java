@@ -19,18 +19,29 @@ import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.yaml.DeleteProperty;
-import org.openrewrite.yaml.search.FindProperty;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.ParallelSourceFiles;
 import org.openrewrite.yaml.tree.Yaml;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
+/**
+ * Splits every document of an `application.yml` (or `application.yaml`) that is activated by a single profile into an
+ * `application-{profile}.yml` file beside it. Each document is visited once to find, and remove, its
+ * `spring.config.activate.on-profile` property, and files can be separated in parallel (see
+ * {@link SpringExecutionContextView#setParallelSourceFileProcessing(boolean)}).
+ */
 public class SeparateApplicationYamlByProfile extends Recipe {
+    private static final Pattern PROFILE_NAME = Pattern.compile("[A-z0-9-]+");
+
+    private static final DeleteSpringProperties.KeyMatcher ON_PROFILE =
+            new DeleteSpringProperties.KeyMatcher(Collections.singletonList("spring.config.activate.on-profile"));
 
     @Override
     public String getDisplayName() {
@@ -44,42 +55,90 @@ public class SeparateApplicationYamlByProfile extends Recipe {
 
     @Override
     protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
-        return ListUtils.flatMap(before, s -> {
-            if (s.getSourcePath().getFileSystem().getPathMatcher("glob:application.yml")
-                    .matches(s.getSourcePath().getFileName())) {
-                Yaml.Documents yaml = (Yaml.Documents) s;
-
-                Map<Yaml.Document, String> profiles = new HashMap<>(yaml.getDocuments().size());
-
-                //noinspection unchecked
-                Yaml.Documents mainYaml = yaml.withDocuments(ListUtils.map(
-                        (List<Yaml.Document>) yaml.getDocuments(),
-                        doc -> {
-                            String profileName = FindProperty.find(doc, "spring.config.activate.on-profile", true).stream()
-                                    .findAny()
-                                    .map(profile -> ((Yaml.Scalar) profile).getValue())
-                                    .orElse(null);
-
-                            if (profileName != null && profileName.matches("[A-z0-9-]+")) {
-                                profiles.put((Yaml.Document) new DeleteProperty("spring.config.activate.on-profile", true, true, null)
-                                        .getVisitor().visit(doc, ctx, new Cursor(null, yaml)), profileName);
-                                return null;
-                            }
-
-                            return doc;
-                        }));
-
-                List<Yaml.Documents> profileYamls = profiles.entrySet().stream()
-                        .map(profile -> yaml
-                                .withDocuments(Collections.singletonList(profile.getKey().withExplicit(false)))
-                                .withSourcePath(yaml.getSourcePath().resolveSibling("application-" + profile.getValue() + ".yml"))
-                        )
-                        .collect(Collectors.toList());
-
-                return mainYaml.getDocuments().isEmpty() ? profileYamls : ListUtils.concat(mainYaml, profileYamls);
+        return ParallelSourceFiles.flatMap(before, ctx, s -> {
+            if (s instanceof Yaml.Documents && isApplicationYaml(s.getSourcePath())) {
+                List<SourceFile> separated = separate((Yaml.Documents) s, ctx);
+                if (separated != null) {
+                    return separated;
+                }
             }
-
             return s;
         });
     }
+
+    private static boolean isApplicationYaml(Path sourcePath) {
+        Path fileName = sourcePath.getFileName();
+        return fileName != null && ("application.yml".equals(fileName.toString()) ||
+                                    "application.yaml".equals(fileName.toString()));
+    }
+
+    /**
+     * @return The files that replace the application YAML, or null if none of its documents is activated by a profile.
+     */
+    @Nullable
+    private static List<SourceFile> separate(Yaml.Documents yaml, ExecutionContext ctx) {
+        String fileName = yaml.getSourcePath().getFileName().toString();
+        String extension = fileName.substring(fileName.lastIndexOf('.'));
+        List<SourceFile> profileYamls = new ArrayList<>();
+
+        //noinspection unchecked
+        Yaml.Documents mainYaml = yaml.withDocuments(ListUtils.map(
+                (List<Yaml.Document>) yaml.getDocuments(),
+                doc -> {
+                    RemoveProfileActivation removeProfileActivation = new RemoveProfileActivation();
+                    Yaml.Document profileDoc = (Yaml.Document) removeProfileActivation.visitNonNull(doc, ctx, new Cursor(null, yaml));
+                    if (removeProfileActivation.profile == null) {
+                        return doc;
+                    }
+
+                    profileYamls.add(yaml
+                            .withId(Tree.randomId())
+                            .withDocuments(Collections.singletonList(firstDocument(profileDoc)))
+                            .withSourcePath(yaml.getSourcePath().resolveSibling("application-" + removeProfileActivation.profile + extension)));
+                    return null;
+                }));
+
+        if (profileYamls.isEmpty()) {
+            return null;
+        }
+        return mainYaml.getDocuments().isEmpty() ? profileYamls : ListUtils.concat(mainYaml, profileYamls);
+    }
+
+    /**
+     * @return A document made into the first of a new file, which starts with its first entry rather than `---` or the
+     * line break that followed it.
+     */
+    private static Yaml.Document firstDocument(Yaml.Document document) {
+        Yaml.Document first = document.withExplicit(false).withPrefix("");
+        if (first.getBlock() instanceof Yaml.Mapping) {
+            Yaml.Mapping mapping = (Yaml.Mapping) first.getBlock();
+            first = first.withBlock(mapping.withEntries(ListUtils.mapFirst(mapping.getEntries(), e -> e.withPrefix(""))));
+        }
+        return first;
+    }
+
+    /**
+     * Removes the `spring.config.activate.on-profile` property of a document when it names a single profile, rather than
+     * a profile expression, and remembers that profile.
+     */
+    private static class RemoveProfileActivation extends DeleteSpringProperties.DeleteYamlPropertiesVisitor {
+        @Nullable
+        private String profile;
+
+        private RemoveProfileActivation() {
+            super(ON_PROFILE);
+        }
+
+        @Override
+        boolean delete(@Nullable String parentKey, Yaml.Mapping.Entry entry) {
+            if (profile == null && entry.getValue() instanceof Yaml.Scalar && super.delete(parentKey, entry)) {
+                String value = ((Yaml.Scalar) entry.getValue()).getValue();
+                if (PROFILE_NAME.matcher(value).matches()) {
+                    profile = value;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -17,14 +17,21 @@ package org.openrewrite.java.spring;
 
 import org.openrewrite.DelegatingExecutionContext;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SourcePathMatcher;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 
 @SuppressWarnings("ALL")
 public class SpringExecutionContextView extends DelegatingExecutionContext {
 
-    private static final String DEFAULT_APPLICATION_CONFIGURATION_PATHS = "org.openrewrite.java.spring.defaultApplicationConfigurationPaths";
+    static final String DEFAULT_APPLICATION_CONFIGURATION_PATHS = "org.openrewrite.java.spring.defaultApplicationConfigurationPaths";
+    private static final String PARALLEL_SOURCE_FILE_PROCESSING = "org.openrewrite.java.spring.parallelSourceFileProcessing";
+    private static final String BOM_CACHE_DIRECTORY = "org.openrewrite.java.spring.bomCacheDirectory";
+    private static final String OFFLINE_BOM_REPOSITORY = "org.openrewrite.java.spring.offlineBomRepository";
 
     public SpringExecutionContextView(ExecutionContext delegate) {
         super(delegate);
@@ -58,4 +65,77 @@ public class SpringExecutionContextView extends DelegatingExecutionContext {
     public List<String> getDefaultApplicationConfigurationPaths() {
         return getMessage(DEFAULT_APPLICATION_CONFIGURATION_PATHS, Arrays.asList("**/application.yml", "**/application.properties", "**/application.yaml"));
     }
+
+    /**
+     * The compiled matcher of a list of path expressions, which is shared by every recipe that matches the same
+     * expressions and remembers which source paths it has matched.
+     *
+     * @param pathExpressions A list of path expressions, or null or empty for the default application configuration paths
+     * @return A matcher of source paths that match any of the expressions
+     */
+    public SourcePathMatcher getSourcePathMatcher(@Nullable List<String> pathExpressions) {
+        return SourcePathMatcher.of(pathExpressions == null || pathExpressions.isEmpty() ?
+                getDefaultApplicationConfigurationPaths() : pathExpressions);
+    }
+
+    /**
+     * Whether the recipes of this library that visit the whole list of source files at once (such as
+     * {@link ChangeSpringPropertyKeys}) process those files in parallel on the common fork-join pool. The resulting
+     * source files are in the same order either way. The execution context must be safe to use from several threads
+     * at once, as {@link org.openrewrite.InMemoryExecutionContext} is. Only YAML and properties files are processed in
+     * parallel; recipes that visit Java sources still visit them one at a time.
+     *
+     * @param parallel true to process source files in parallel
+     * @return this
+     */
+    public SpringExecutionContextView setParallelSourceFileProcessing(boolean parallel) {
+        putMessage(PARALLEL_SOURCE_FILE_PROCESSING, parallel);
+        return this;
+    }
+
+    /**
+     * @return true if source files are processed in parallel, false (the default) if they are processed one at a time
+     */
+    public boolean isParallelSourceFileProcessing() {
+        return getMessage(PARALLEL_SOURCE_FILE_PROCESSING, false);
+    }
+
+    /**
+     * The directory in which the resolved managed dependency versions of `spring-boot-dependencies` BOMs are cached
+     * between runs. The default is "~/.rewrite/cache/spring-boot-dependencies".
+     *
+     * @param directory The cache directory
+     * @return this
+     */
+    public SpringExecutionContextView setBomCacheDirectory(Path directory) {
+        putMessage(BOM_CACHE_DIRECTORY, directory);
+        return this;
+    }
+
+    /**
+     * @return The directory in which the resolved managed dependency versions of `spring-boot-dependencies` BOMs are cached
+     */
+    public Path getBomCacheDirectory() {
+        return getMessage(BOM_CACHE_DIRECTORY, Paths.get(System.getProperty("user.home"), ".rewrite", "cache", "spring-boot-dependencies"));
+    }
+
+    /**
+     * A local Maven repository, in the layout of "~/.m2/repository", from which `spring-boot-dependencies` BOMs that are
+     * not cached are resolved instead of the Spring repositories. It must hold each BOM and every BOM that it imports.
+     *
+     * @param localRepository The local repository
+     * @return this
+     */
+    public SpringExecutionContextView setOfflineBomRepository(Path localRepository) {
+        putMessage(OFFLINE_BOM_REPOSITORY, localRepository);
+        return this;
+    }
+
+    /**
+     * @return The local Maven repository from which BOMs are resolved, or null if they are downloaded
+     */
+    @Nullable
+    public Path getOfflineBomRepository() {
+        return getMessage(OFFLINE_BOM_REPOSITORY);
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.CanonicalPropertyKeys;
+import org.openrewrite.java.spring.internal.InstanceCache;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An index of the entries of a YAML or properties tree by their flattened property key, so that recipes can look up a
+ * property without walking the tree again. Keys are compared using relaxed binding, like
+ * {@link org.openrewrite.yaml.search.FindProperty} and {@link org.openrewrite.properties.search.FindProperties} with
+ * `relaxedBinding` enabled.
+ * <P>
+ * Indexes are cached in the execution context for the instance of the tree they were built from. Trees are immutable,
+ * so a changed file is a different instance and gets a new index. An index only holds weak references to the entries
+ * of its tree, so that the cache does not keep trees that are no longer used in memory.
+ *
+ * @param <T> The type of entry that is indexed.
+ */
+public class SpringPropertyIndex<T extends Tree> {
+    private static final String INDEX_CACHE = "org.openrewrite.java.spring.propertyIndexCache";
+
+    private final Map<String, List<WeakReference<T>>> entriesByKey = new HashMap<>();
+
+    private SpringPropertyIndex(Map<String, List<T>> entriesByKey) {
+        entriesByKey.forEach((key, entries) -> {
+            List<WeakReference<T>> references = new ArrayList<>(entries.size());
+            for (T entry : entries) {
+                references.add(new WeakReference<>(entry));
+            }
+            this.entriesByKey.put(key, references);
+        });
+    }
+
+    /**
+     * @param key A property key.
+     * @return The entries with a matching key, in the order they occur in the tree.
+     */
+    public List<T> find(String key) {
+        List<WeakReference<T>> references = entriesByKey.get(CanonicalPropertyKeys.canonicalKey(key));
+        if (references == null) {
+            return Collections.emptyList();
+        }
+        List<T> entries = new ArrayList<>(references.size());
+        for (WeakReference<T> reference : references) {
+            T entry = reference.get();
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public boolean contains(String key) {
+        return entriesByKey.containsKey(CanonicalPropertyKeys.canonicalKey(key));
+    }
+
+    /**
+     * @return The canonical key of every indexed entry.
+     */
+    public Set<String> keys() {
+        return Collections.unmodifiableSet(entriesByKey.keySet());
+    }
+
+    /**
+     * @param sourceFile A source file.
+     * @param ctx        The execution context that caches the index.
+     * @return The canonical keys of a YAML or properties file, or null for any other source file.
+     */
+    @Nullable
+    static Set<String> keys(SourceFile sourceFile, ExecutionContext ctx) {
+        if (sourceFile instanceof Yaml.Documents) {
+            return yaml((Yaml.Documents) sourceFile, ctx).keys();
+        } else if (sourceFile instanceof Properties.File) {
+            return properties((Properties.File) sourceFile, ctx).keys();
+        }
+        return null;
+    }
+
+    /**
+     * @param yaml A YAML tree, such as a whole file or one document of a file.
+     * @param ctx  The execution context that caches the index.
+     * @return The index of every mapping entry in the tree, by the dotted keys of it and its enclosing entries.
+     */
+    public static SpringPropertyIndex<Yaml.Mapping.Entry> yaml(Yaml yaml, ExecutionContext ctx) {
+        return cached(yaml, ctx, tree -> {
+            Map<String, List<Yaml.Mapping.Entry>> entriesByKey = new HashMap<>();
+            new YamlIsoVisitor<Map<String, List<Yaml.Mapping.Entry>>>() {
+                private final Deque<String> keys = new ArrayDeque<>();
+
+                @Override
+                public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, Map<String, List<Yaml.Mapping.Entry>> index) {
+                    String key = keys.isEmpty() ?
+                            CanonicalPropertyKeys.canonicalKey(entry.getKey().getValue()) :
+                            keys.peek() + "." + CanonicalPropertyKeys.canonicalKey(entry.getKey().getValue());
+                    index.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+                    keys.push(key);
+                    try {
+                        return super.visitMappingEntry(entry, index);
+                    } finally {
+                        keys.pop();
+                    }
+                }
+            }.visit(tree, entriesByKey);
+            return new SpringPropertyIndex<>(entriesByKey);
+        });
+    }
+
+    /**
+     * @param file A properties file.
+     * @param ctx  The execution context that caches the index.
+     * @return The index of every entry in the file, by its key.
+     */
+    public static SpringPropertyIndex<Properties.Entry> properties(Properties.File file, ExecutionContext ctx) {
+        return cached(file, ctx, tree -> {
+            Map<String, List<Properties.Entry>> entriesByKey = new HashMap<>();
+            for (Properties.Content content : ((Properties.File) tree).getContent()) {
+                if (content instanceof Properties.Entry) {
+                    Properties.Entry entry = (Properties.Entry) content;
+                    entriesByKey.computeIfAbsent(CanonicalPropertyKeys.canonicalEnvironmentKey(entry.getKey()), k -> new ArrayList<>()).add(entry);
+                }
+            }
+            return new SpringPropertyIndex<>(entriesByKey);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Tree> SpringPropertyIndex<T> cached(Tree tree, ExecutionContext ctx,
+                                                                  Function<Tree, SpringPropertyIndex<T>> buildIndex) {
+        return (SpringPropertyIndex<T>) InstanceCache.<Tree, SpringPropertyIndex<?>>get(ctx, INDEX_CACHE, tree.getId(), tree, buildIndex::apply);
+    }
+}
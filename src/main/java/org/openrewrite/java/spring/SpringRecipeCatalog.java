@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.Value;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.YamlResourceLoader;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Activates declarative recipes of this library's `META-INF/rewrite` catalog without loading the whole catalog. An index
+ * generated at build time maps every recipe name to the catalog file and offsets of its document and to the recipes it
+ * references in its recipe list or applicability tests, so only the documents of the recipes reachable from the
+ * requested ones are parsed and built.
+ * <P>
+ * When a reachable recipe is declared outside of this catalog (for example by another recipe library), or the index is
+ * not on the classpath, recipes are activated from the whole runtime classpath instead.
+ */
+public final class SpringRecipeCatalog {
+    private static final String INDEX = "recipe-catalog.idx";
+    private static final String CATALOG = "/META-INF/rewrite/";
+
+    @Nullable
+    private static volatile Map<String, IndexedRecipe> index;
+
+    private SpringRecipeCatalog() {
+    }
+
+    public static Recipe activateRecipes(String... recipeNames) {
+        Map<String, List<IndexedRecipe>> reachableByFile = reachable(index(), recipeNames);
+        if (reachableByFile == null) {
+            return Environment.builder().scanRuntimeClasspath().build().activateRecipes(recipeNames);
+        }
+
+        StringBuilder yaml = new StringBuilder();
+        reachableByFile.forEach((file, reachable) -> {
+            String catalog = read(CATALOG + file);
+            for (IndexedRecipe recipe : reachable) {
+                yaml.append("---\n").append(catalog, recipe.getStart(), recipe.getEnd()).append('\n');
+            }
+        });
+
+        return Environment.builder()
+                .load(new YamlResourceLoader(new ByteArrayInputStream(yaml.toString().getBytes(StandardCharsets.UTF_8)),
+                        URI.create("classpath:" + CATALOG), new Properties()))
+                .build()
+                .activateRecipes(recipeNames);
+    }
+
+    /**
+     * @return The indexed recipes reachable from the requested ones, grouped by catalog file, or null when one of them
+     * can't be resolved from the index.
+     */
+    @Nullable
+    static Map<String, List<IndexedRecipe>> reachable(Map<String, IndexedRecipe> recipes, String... recipeNames) {
+        if (recipes.isEmpty()) {
+            return null;
+        }
+
+        Map<String, List<IndexedRecipe>> reachableByFile = new TreeMap<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> unvisited = new ArrayDeque<>(Arrays.asList(recipeNames));
+        while (!unvisited.isEmpty()) {
+            String name = unvisited.pop();
+            if (!visited.add(name)) {
+                continue;
+            }
+            IndexedRecipe recipe = recipes.get(name);
+            if (recipe != null) {
+                reachableByFile.computeIfAbsent(recipe.getFile(), f -> new ArrayList<>()).add(recipe);
+                unvisited.addAll(recipe.getReferences());
+            } else if (!isRecipeClass(name)) {
+                return null;
+            }
+        }
+        return reachableByFile;
+    }
+
+    private static boolean isRecipeClass(String name) {
+        try {
+            return Recipe.class.isAssignableFrom(Class.forName(name, false, SpringRecipeCatalog.class.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    static Map<String, IndexedRecipe> index() {
+        Map<String, IndexedRecipe> recipes = index;
+        if (recipes == null) {
+            synchronized (SpringRecipeCatalog.class) {
+                recipes = index;
+                if (recipes == null) {
+                    recipes = new HashMap<>();
+                    if (SpringRecipeCatalog.class.getResource(INDEX) != null) {
+                        for (String line : read(INDEX).split("\\r?\\n")) {
+                            String[] columns = line.split("\t", -1);
+                            if (columns.length == 5) {
+                                // the first definition of a recipe name wins, as it does when the catalog is scanned
+                                recipes.putIfAbsent(columns[0], new IndexedRecipe(columns[1], Integer.parseInt(columns[2]),
+                                        Integer.parseInt(columns[3]), columns[4].isEmpty() ?
+                                        Collections.emptyList() : Arrays.asList(columns[4].split(","))));
+                            }
+                        }
+                    }
+                    index = recipes;
+                }
+            }
+        }
+        return recipes;
+    }
+
+    private static String read(String resource) {
+        try (InputStream is = SpringRecipeCatalog.class.getResourceAsStream(resource)) {
+            if (is == null) {
+                throw new IllegalStateException("Unable to find " + resource + " on the classpath");
+            }
+            return StringUtils.readFully(is);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Value
+    static class IndexedRecipe {
+        String file;
+        int start;
+        int end;
+        List<String> references;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.openrewrite.java.spring.internal.PropertyKeyTrie;
+
+import java.io.*;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renames and deletes keys of a properties file line by line, without parsing the whole file into a
+ * {@link org.openrewrite.properties.tree.Properties.File}. This is meant for very large (often generated) properties
+ * files, and only holds one logical line, and the blank lines before it, in memory at a time.
+ * <P>
+ * Keys are matched like {@link ChangeSpringPropertyKeys} and {@link DeleteSpringProperties}, and the output is the same
+ * as running those recipes, in that order, on the parsed file: a key is renamed first, and then deleted if its new key
+ * matches a deleted key. {@link ConfigRepositoryMigration#renameAndDelete(Map, Collection)} rewrites the properties
+ * files of a configuration repository this way. Lines are read with the syntax of
+ * {@link java.util.Properties#load(Reader)}: a line ending in an odd number of backslashes continues on the next line,
+ * lines starting with `#` or `!` are comments, and a key ends at the first unescaped `=`, `:` or whitespace.
+ */
+public class StreamingPropertiesRewriter {
+    private final PropertyKeyTrie<String> renames = new PropertyKeyTrie<>();
+    private final DeleteSpringProperties.KeyMatcher deletions;
+
+    /**
+     * @param propertyKeys The property keys to rename mapped to their new names, as in {@link ChangeSpringPropertyKeys}.
+     * @param deletedKeys  The property key globs to delete, as in {@link DeleteSpringProperties}.
+     */
+    public StreamingPropertiesRewriter(Map<String, String> propertyKeys, Collection<String> deletedKeys) {
+        propertyKeys.forEach(renames::put);
+        this.deletions = new DeleteSpringProperties.KeyMatcher(deletedKeys);
+    }
+
+    public String rewrite(String properties) {
+        StringWriter writer = new StringWriter(properties.length());
+        try {
+            rewrite(new StringReader(properties), writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * @param reader The properties file to rewrite. It is buffered here, so callers need not buffer it.
+     * @param writer Where the rewritten file is written.
+     * @return true if any key was renamed or deleted.
+     */
+    public boolean rewrite(Reader reader, Writer writer) throws IOException {
+        LineReader lines = new LineReader(reader instanceof BufferedReader ? reader : new BufferedReader(reader));
+
+        // whitespace since the end of the last line that was written, which becomes the prefix of the next line
+        StringBuilder pending = new StringBuilder();
+        // the prefix of the first line, which was deleted, given to the first line that is written instead of its own
+        String firstPrefix = null;
+        boolean written = false;
+        boolean changed = false;
+
+        while (lines.next()) {
+            String line = lines.text();
+            int start = 0;
+            while (start < line.length() && isWhitespace(line.charAt(start))) {
+                start++;
+            }
+            if (start == line.length()) {
+                pending.append(line).append(lines.terminator());
+                continue;
+            }
+            pending.append(line, 0, start);
+
+            String text;
+            String terminator;
+            boolean delete = false;
+            if (line.charAt(start) == '#' || line.charAt(start) == '!') {
+                text = line.substring(start);
+                terminator = lines.terminator();
+            } else {
+                StringBuilder logicalLine = new StringBuilder(line.length() - start).append(line, start, line.length());
+                while (continues(lines.text()) && lines.hasTerminator()) {
+                    logicalLine.append(lines.terminator());
+                    if (!lines.next()) {
+                        break;
+                    }
+                    logicalLine.append(lines.text());
+                }
+                terminator = lines.terminator();
+
+                int keyEnd = keyEnd(logicalLine);
+                String key = logicalLine.substring(0, keyEnd);
+                List<String> renamed = ChangeSpringPropertyKeys.renamedKey(renames, PropertyKeyTrie.segments(key));
+                if (renamed != null) {
+                    key = String.join(".", renamed);
+                    changed = true;
+                }
+                if (deletions.matches(null, key)) {
+                    delete = true;
+                    changed = true;
+                    text = "";
+                } else {
+                    text = renamed == null ? logicalLine.toString() : key + logicalLine.substring(keyEnd);
+                }
+            }
+
+            if (delete) {
+                if (!written && firstPrefix == null) {
+                    firstPrefix = pending.toString();
+                }
+            } else {
+                writer.write(!written && firstPrefix != null ? firstPrefix : pending.toString());
+                writer.write(text);
+                written = true;
+            }
+            pending.setLength(0);
+            pending.append(terminator);
+        }
+        writer.write(pending.toString());
+        writer.flush();
+        return changed;
+    }
+
+    private static boolean continues(String line) {
+        int backslashes = 0;
+        for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private static int keyEnd(CharSequence logicalLine) {
+        for (int i = 0; i < logicalLine.length(); i++) {
+            char c = logicalLine.charAt(i);
+            if (c == '\\') {
+                if (i + 1 < logicalLine.length() && (logicalLine.charAt(i + 1) == '\n' || logicalLine.charAt(i + 1) == '\r')) {
+                    return i;
+                }
+                i++;
+            } else if (c == '=' || c == ':' || isWhitespace(c)) {
+                return i;
+            }
+        }
+        return logicalLine.length();
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    /**
+     * Reads physical lines, keeping the line terminator of each so that it can be written back unchanged.
+     */
+    private static class LineReader {
+        private final Reader reader;
+        private final StringBuilder text = new StringBuilder();
+        private String terminator = "";
+        private int lookahead = -1;
+
+        private LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private boolean next() throws IOException {
+            text.setLength(0);
+            terminator = "";
+            int c = lookahead >= 0 ? lookahead : reader.read();
+            lookahead = -1;
+            if (c < 0) {
+                return false;
+            }
+            for (; c >= 0; c = reader.read()) {
+                if (c == '\n') {
+                    terminator = "\n";
+                    break;
+                } else if (c == '\r') {
+                    int next = reader.read();
+                    if (next == '\n') {
+                        terminator = "\r\n";
+                    } else {
+                        terminator = "\r";
+                        lookahead = next;
+                    }
+                    break;
+                }
+                text.append((char) c);
+            }
+            return true;
+        }
+
+        private String text() {
+            return text.toString();
+        }
+
+        private String terminator() {
+            return terminator;
+        }
+
+        private boolean hasTerminator() {
+            return !terminator.isEmpty();
+        }
+    }
+}
@@ -19,17 +19,25 @@ import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.spring.ExpandProperties;
+import org.openrewrite.java.spring.SpringPropertyIndex;
+import org.openrewrite.java.spring.internal.SourcePathMatcher;
 import org.openrewrite.yaml.CoalescePropertiesVisitor;
 import org.openrewrite.yaml.MergeYamlVisitor;
-import org.openrewrite.yaml.search.FindProperty;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.nio.file.Path;
-import java.nio.file.PathMatcher;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.*;
 
+/**
+ * Merges the `bootstrap.yml` of every module into the `application.yml` in the same `main/resources` directory, or
+ * renames it to `application.yml` when the module has none. Both files of each module are found by a single pass that
+ * indexes the configuration files of the repository by directory, and every document of the `bootstrap.yml` is merged
+ * into the document of the `application.yml` that is activated by the same profile.
+ */
 public class MergeBootstrapYamlWithApplicationYaml extends Recipe {
+    private static final String BOOTSTRAP_YAML = "bootstrap.yml";
+    private static final String APPLICATION_YAML = "application.yml";
+
     @Override
     public String getDisplayName() {
         return "Merge Spring `bootstrap.yml` with `application.yml`";
@@ -42,53 +50,134 @@ public class MergeBootstrapYamlWithApplicationYaml extends Recipe {
 
     @Override
     protected TreeVisitor<?, ExecutionContext> getApplicableTest() {
-        return new HasSourcePath<>("**/main/resources/bootstrap.yml");
+        return SourcePathMatcher.of(Collections.singletonList("**/main/resources/bootstrap.yml")).asVisitor();
     }
 
     @Override
     protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
-        Yaml.Documents bootstrapYaml = findByPath(before, "bootstrap.yml");
-        Yaml.Documents applicationYaml = findByPath(before, "application.yml");
+        Map<Path, ModuleConfiguration> modules = new HashMap<>();
+        for (SourceFile sourceFile : before) {
+            String fileName = configurationFileName(sourceFile);
+            if (fileName != null) {
+                ModuleConfiguration module = modules.computeIfAbsent(sourceFile.getSourcePath().getParent(), p -> new ModuleConfiguration());
+                if (BOOTSTRAP_YAML.equals(fileName) && module.bootstrapYaml == null) {
+                    module.bootstrapYaml = (Yaml.Documents) sourceFile;
+                } else if (APPLICATION_YAML.equals(fileName) && module.applicationYaml == null) {
+                    module.applicationYaml = (Yaml.Documents) sourceFile;
+                }
+            }
+        }
 
-        assert bootstrapYaml != null;
         return ListUtils.map(before, source -> {
-            if (source == bootstrapYaml) {
-                if (applicationYaml == null) {
-                    return source.withSourcePath(source.getSourcePath().resolveSibling("application.yml"));
+            ModuleConfiguration module = configurationFileName(source) == null ? null :
+                    modules.get(source.getSourcePath().getParent());
+            if (module == null || module.bootstrapYaml == null) {
+                return source;
+            }
+
+            if (source == module.bootstrapYaml) {
+                if (module.applicationYaml == null) {
+                    return source.withSourcePath(source.getSourcePath().resolveSibling(APPLICATION_YAML));
                 }
                 return null;
-            } else if (applicationYaml != null && source == applicationYaml) {
-                AtomicBoolean merged = new AtomicBoolean(false);
-
-                Yaml.Documents a = (Yaml.Documents) new ExpandProperties().getVisitor().visit(applicationYaml, ctx);
-                assert a != null;
-
-                Yaml.Documents b = (Yaml.Documents) new ExpandProperties().getVisitor().visit(bootstrapYaml, ctx);
-                assert b != null;
-
-                //noinspection unchecked
-                return (SourceFile) new CoalescePropertiesVisitor<Integer>().visit(a.withDocuments(ListUtils.map((List<Yaml.Document>) a.getDocuments(), doc -> {
-                    if (merged.compareAndSet(false, true) && FindProperty.find(doc, "spring.config.activate.on-profile", true).isEmpty()) {
-                        return (Yaml.Document) new MergeYamlVisitor<Integer>(doc.getBlock(), b.getDocuments()
-                                .get(0).getBlock(), true, null).visit(doc, 0, new Cursor(new Cursor(null, a), doc));
-                    }
-                    return doc;
-                })), 0);
+            } else if (source == module.applicationYaml) {
+                return merge(module.applicationYaml, module.bootstrapYaml, ctx);
             }
 
             return source;
         });
     }
 
-    @Nullable
-    private Yaml.Documents findByPath(List<SourceFile> before, String fileName) {
-        for (SourceFile sourceFile : before) {
-            Path sourcePath = sourceFile.getSourcePath();
-            PathMatcher pathMatcher = sourcePath.getFileSystem().getPathMatcher("glob:**/main/resources/" + fileName);
-            if (pathMatcher.matches(sourcePath)) {
-                return (Yaml.Documents) sourceFile;
+    /**
+     * Merges every document of the bootstrap YAML into the document of the application YAML that is activated by the same
+     * profile, or by no profile. A bootstrap document without such a counterpart is added to the application YAML: before
+     * its documents when it is activated by no profile, so that profile documents still override it, and after them
+     * otherwise.
+     */
+    private static SourceFile merge(Yaml.Documents applicationYaml, Yaml.Documents bootstrapYaml, ExecutionContext ctx) {
+        Yaml.Documents a = (Yaml.Documents) new ExpandProperties().getVisitor().visit(applicationYaml, ctx);
+        assert a != null;
+
+        Yaml.Documents b = (Yaml.Documents) new ExpandProperties().getVisitor().visit(bootstrapYaml, ctx);
+        assert b != null;
+
+        List<Yaml.Document> documents = new ArrayList<>(a.getDocuments());
+        for (Yaml.Document bootstrapDoc : b.getDocuments()) {
+            String profile = profile(bootstrapDoc, ctx);
+            int target = -1;
+            for (int i = 0; i < documents.size() && target < 0; i++) {
+                if (Objects.equals(profile, profile(documents.get(i), ctx))) {
+                    target = i;
+                }
+            }
+
+            if (target >= 0) {
+                Yaml.Document doc = documents.get(target);
+                documents.set(target, (Yaml.Document) new MergeYamlVisitor<Integer>(doc.getBlock(), bootstrapDoc.getBlock(), true, null)
+                        .visit(doc, 0, new Cursor(new Cursor(null, a), doc)));
+            } else if (profile != null) {
+                documents.add(bootstrapDoc.withExplicit(true));
+            } else if (documents.isEmpty()) {
+                documents.add(bootstrapDoc.withExplicit(false));
+            } else {
+                boolean endsWithLineBreak = b.withDocuments(Collections.singletonList(bootstrapDoc)).printAll().endsWith("\n");
+                documents.set(0, separate(documents.get(0), endsWithLineBreak));
+                documents.add(0, bootstrapDoc.withExplicit(false));
             }
         }
+
+        return (SourceFile) new CoalescePropertiesVisitor<Integer>().visit(a.withDocuments(documents), 0);
+    }
+
+    /**
+     * @return The profile that activates a document, or null if it is activated by no profile. A profile that is not a
+     * scalar matches no other document.
+     */
+    @Nullable
+    private static String profile(Yaml.Document document, ExecutionContext ctx) {
+        for (Yaml.Mapping.Entry entry : SpringPropertyIndex.yaml(document, ctx).find("spring.config.activate.on-profile")) {
+            return entry.getValue() instanceof Yaml.Scalar ? ((Yaml.Scalar) entry.getValue()).getValue() :
+                    entry.getValue().getId().toString();
+        }
         return null;
     }
+
+    /**
+     * @return The first document of a file made into a later one, which starts with `---` on a line of its own.
+     */
+    private static Yaml.Document separate(Yaml.Document document, boolean afterLineBreak) {
+        Yaml.Document separated = document.withExplicit(true).withPrefix(afterLineBreak ? "" : "\n");
+        if (separated.getBlock() instanceof Yaml.Mapping) {
+            Yaml.Mapping mapping = (Yaml.Mapping) separated.getBlock();
+            separated = separated.withBlock(mapping.withEntries(ListUtils.mapFirst(mapping.getEntries(), e ->
+                    e.getPrefix().startsWith("\n") ? e : e.withPrefix("\n" + e.getPrefix()))));
+        }
+        return separated;
+    }
+
+    /**
+     * @return The file name of a YAML source file in a `main/resources` directory, or null for any other source file.
+     */
+    @Nullable
+    private static String configurationFileName(SourceFile sourceFile) {
+        if (!(sourceFile instanceof Yaml.Documents)) {
+            return null;
+        }
+        Path sourcePath = sourceFile.getSourcePath();
+        Path resources = sourcePath.getParent();
+        Path main = resources == null ? null : resources.getParent();
+        if (main == null || main.getFileName() == null || !"resources".equals(resources.getFileName().toString()) ||
+            !"main".equals(main.getFileName().toString())) {
+            return null;
+        }
+        return sourcePath.getFileName().toString();
+    }
+
+    private static class ModuleConfiguration {
+        @Nullable
+        Yaml.Documents bootstrapYaml;
+
+        @Nullable
+        Yaml.Documents applicationYaml;
+    }
 }
@@ -21,14 +21,14 @@ import org.intellij.lang.annotations.Language;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.spring.SpringPropertyIndex;
+import org.openrewrite.marker.SearchResult;
 import org.openrewrite.properties.AddProperty;
 import org.openrewrite.properties.PropertiesVisitor;
-import org.openrewrite.properties.search.FindProperties;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.CoalesceProperties;
 import org.openrewrite.yaml.MergeYaml;
 import org.openrewrite.yaml.YamlVisitor;
-import org.openrewrite.yaml.search.FindProperty;
 import org.openrewrite.yaml.tree.Yaml;
 
 public class MigrateDatabaseCredentials extends Recipe {
@@ -69,9 +69,11 @@ public class MigrateDatabaseCredentials extends Recipe {
             return new YamlVisitor<ExecutionContext>() {
                 @Override
                 public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext executionContext) {
-                    if (FindProperty.find(documents, "spring." + tool + ".username", true).isEmpty() &&
-                            FindProperty.find(documents, "spring." + tool + ".password", true).isEmpty()) {
-                        doAfterVisit(new FindProperty("spring." + tool + ".url", true));
+                    SpringPropertyIndex<Yaml.Mapping.Entry> properties = SpringPropertyIndex.yaml(documents, executionContext);
+                    if (!properties.contains("spring." + tool + ".username") &&
+                            !properties.contains("spring." + tool + ".password") &&
+                            properties.contains("spring." + tool + ".url")) {
+                        return SearchResult.found(documents);
                     }
                     return documents;
                 }
@@ -108,9 +110,11 @@ public class MigrateDatabaseCredentials extends Recipe {
             return new PropertiesVisitor<ExecutionContext>() {
                 @Override
                 public Properties visitFile(Properties.File file, ExecutionContext executionContext) {
-                    if (FindProperties.find(file, "spring." + tool + ".username", true).isEmpty() &&
-                            FindProperties.find(file, "spring." + tool + ".password", true).isEmpty()) {
-                        doAfterVisit(new FindProperties("spring." + tool + ".url", true));
+                    SpringPropertyIndex<Properties.Entry> properties = SpringPropertyIndex.properties(file, executionContext);
+                    if (!properties.contains("spring." + tool + ".username") &&
+                            !properties.contains("spring." + tool + ".password") &&
+                            properties.contains("spring." + tool + ".url")) {
+                        return SearchResult.found(file);
                     }
                     return file;
                 }
@@ -31,13 +31,12 @@ import org.openrewrite.marker.Marker;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.maven.MavenVisitor;
+import org.openrewrite.maven.spring.MavenDependencyIndex;
 import org.openrewrite.maven.tree.MavenResolutionResult;
-import org.openrewrite.maven.tree.ResolvedDependency;
 import org.openrewrite.maven.tree.Scope;
 import org.openrewrite.properties.PropertiesVisitor;
 import org.openrewrite.properties.search.FindProperties;
 import org.openrewrite.properties.tree.Properties;
-import org.openrewrite.semver.DependencyMatcher;
 import org.openrewrite.xml.tree.Xml;
 import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.search.FindProperty;
@@ -73,31 +72,11 @@ public class IntegrationSchedulerPoolRecipe extends Recipe {
                 " default of 10 threads, use the `spring.task.scheduling.pool.size` property.";
     }
 
-    private boolean isApplicableMavenProject(Xml.Document maven) {
-        DependencyMatcher boot25Matcher = DependencyMatcher.build("org.springframework.boot:spring-boot:2.4.X").getValue();
-        DependencyMatcher integrationMatcher = DependencyMatcher.build("org.springframework.integration:spring-integration-core").getValue();
-
-        List<ResolvedDependency> deps = maven.getMarkers().findFirst(MavenResolutionResult.class)
-                .orElseThrow(() -> new IllegalStateException("Maven visitors should not be visiting XML documents without a Maven marker"))
-                .getDependencies().getOrDefault(Scope.Compile, Collections.emptyList());
-
-        boolean boot25 = false;
-        boolean si = false;
-
-        for (ResolvedDependency d : deps) {
-            if (!boot25) {
-                assert boot25Matcher != null;
-                boot25 = boot25Matcher.matches(d.getGroupId(), d.getArtifactId(), d.getVersion());
-            }
-            if (!si) {
-                assert integrationMatcher != null;
-                si = integrationMatcher.matches(d.getGroupId(), d.getArtifactId());
-            }
-            if (boot25 && si) {
-                return true;
-            }
-        }
-        return false;
+    private static boolean isApplicableMavenProject(Xml.Document maven, ExecutionContext ctx) {
+        MavenDependencyIndex dependencies = MavenDependencyIndex.of(maven.getMarkers().findFirst(MavenResolutionResult.class)
+                .orElseThrow(() -> new IllegalStateException("Maven visitors should not be visiting XML documents without a Maven marker")), ctx);
+        return dependencies.contains(Scope.Compile, "org.springframework.boot", "spring-boot", SpringBootVersions.BOOT_2_4) &&
+               dependencies.contains(Scope.Compile, "org.springframework.integration", "spring-integration-core");
     }
 
     @Override
@@ -107,7 +86,7 @@ public class IntegrationSchedulerPoolRecipe extends Recipe {
             @Override
             public Xml visitDocument(Xml.Document document, ExecutionContext ctx) {
 
-                if (isApplicableMavenProject(document)) {
+                if (isApplicableMavenProject(document, ctx)) {
                     return SearchResult.found(document);
                 }
                 return document;
@@ -120,7 +99,7 @@ public class IntegrationSchedulerPoolRecipe extends Recipe {
         Set<JavaProject> javaProjects = before.stream()
                 .filter(s -> s.getMarkers().findFirst(MavenResolutionResult.class).isPresent())
                 .map(Xml.Document.class::cast)
-                .filter(this::isApplicableMavenProject)
+                .filter(m -> isApplicableMavenProject(m, ctx))
                 .map(m -> m.getMarkers().findFirst(JavaProject.class))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
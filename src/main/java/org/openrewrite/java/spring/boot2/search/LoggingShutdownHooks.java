@@ -21,16 +21,11 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.maven.MavenVisitor;
+import org.openrewrite.maven.spring.MavenDependencyIndex;
 import org.openrewrite.maven.tree.MavenResolutionResult;
-import org.openrewrite.maven.tree.ResolvedDependency;
 import org.openrewrite.maven.tree.Scope;
-import org.openrewrite.semver.DependencyMatcher;
 import org.openrewrite.xml.tree.Xml;
 
-import java.util.Collections;
-
-import static java.util.Objects.requireNonNull;
-
 /**
  * Mark POM's of projects where logging shutdown hook may need to be disabled
  *
@@ -65,11 +60,8 @@ public class LoggingShutdownHooks extends Recipe {
                 if (!"jar".equals(model.getPom().getPackaging())) {
                     return document;
                 }
-                DependencyMatcher matcher = requireNonNull(DependencyMatcher.build("org.springframework.boot:spring-boot:2.4.X").getValue());
-                for (ResolvedDependency d : getResolutionResult().getDependencies().getOrDefault(Scope.Compile, Collections.emptyList())) {
-                    if (matcher.matches(d.getGroupId(), d.getArtifactId(), d.getVersion())) {
-                        return SearchResult.found(document);
-                    }
+                if (MavenDependencyIndex.of(model, ctx).contains(Scope.Compile, "org.springframework.boot", "spring-boot", SpringBootVersions.BOOT_2_4)) {
+                    return SearchResult.found(document);
                 }
                 return document;
             }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.boot2.search;
+
+import org.openrewrite.semver.Semver;
+import org.openrewrite.semver.VersionComparator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The Spring Boot versions that the search recipes of this package apply to.
+ */
+final class SpringBootVersions {
+    static final VersionComparator BOOT_2_4 = requireNonNull(Semver.validate("2.4.X", null).getValue());
+
+    private SpringBootVersions() {
+    }
+}
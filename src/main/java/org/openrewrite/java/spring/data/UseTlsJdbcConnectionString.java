@@ -20,15 +20,14 @@ import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.NameCaseConvention;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.SpringPropertyIndex;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.properties.PropertiesIsoVisitor;
 import org.openrewrite.properties.PropertiesVisitor;
-import org.openrewrite.properties.search.FindProperties;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.YamlVisitor;
-import org.openrewrite.yaml.search.FindProperty;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.net.URI;
@@ -134,7 +133,7 @@ public class UseTlsJdbcConnectionString extends Recipe {
             return new YamlVisitor<ExecutionContext>() {
                 @Override
                 public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-                    if (!FindProperty.find(documents, propertyKey, true).isEmpty()) {
+                    if (SpringPropertyIndex.yaml(documents, ctx).contains(propertyKey)) {
                         return SearchResult.found(documents);
                     }
                     return documents;
@@ -197,7 +196,7 @@ public class UseTlsJdbcConnectionString extends Recipe {
             return new PropertiesVisitor<ExecutionContext>() {
                 @Override
                 public Properties visitFile(Properties.File file, ExecutionContext ctx) {
-                    if (!FindProperties.find(file, propertyKey, true).isEmpty()) {
+                    if (SpringPropertyIndex.properties(file, ctx).contains(propertyKey)) {
                         return SearchResult.found(file);
                     }
                     return file;
@@ -18,14 +18,55 @@ package org.openrewrite.java.spring.framework;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.*;
-import org.openrewrite.maven.UpgradeDependencyVersion;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.MavenIsoVisitor;
+import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.spring.UpgradeInheritedPropertyVersions;
+import org.openrewrite.maven.spring.UpgradePropertyVersions;
+import org.openrewrite.maven.tree.*;
 import org.openrewrite.semver.Semver;
+import org.openrewrite.semver.VersionComparator;
+import org.openrewrite.xml.tree.Xml;
 
-import java.util.List;
+import java.util.*;
 
+/**
+ * Upgrades every spring-framework artifact in one pass over each POM. Each explicit version, or property that a version
+ * is taken from, is upgraded to the best of the released versions of spring-framework, which are looked up once for
+ * every set of repositories and shared by all the POMs that the recipe's visitor visits. A property that is not declared
+ * in the POM, such as one inherited from a parent POM, is upgraded in the POM that declares it by
+ * {@link UpgradeInheritedPropertyVersions}, which runs after this recipe.
+ */
 @Value
 @EqualsAndHashCode(callSuper = true)
 public class UpgradeSpringFrameworkDependencies extends Recipe {
+    private static final String SPRING_FRAMEWORK_GROUP = "org.springframework";
+
+    private static final List<String> ARTIFACTS_5_1 = Arrays.asList(
+            "spring-bom",
+            "spring-aop",
+            "spring-aspects",
+            "spring-beans",
+            "spring-context",
+            "spring-context-indexer",
+            "spring-context-support",
+            "spring-core",
+            "spring-expression",
+            "spring-instrument",
+            "spring-jcl",
+            "spring-jdbc",
+            "spring-jms",
+            "spring-messaging",
+            "spring-orm",
+            "spring-oxm",
+            "spring-test",
+            "spring-tx",
+            "spring-web",
+            "spring-webflux",
+            "spring-webmvc",
+            "spring-websocket");
+
     @Override
     public String getDisplayName() {
         return "Upgrade spring-framework Maven dependencies";
@@ -49,38 +90,138 @@ public class UpgradeSpringFrameworkDependencies extends Recipe {
     }
 
     @Override
-    protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
-        String[] artifacts_5_1 = new String[]{
-                "spring-bom",
-                "spring-aop",
-                "spring-aspects",
-                "spring-beans",
-                "spring-context",
-                "spring-context-indexer",
-                "spring-context-support",
-                "spring-core",
-                "spring-expression",
-                "spring-instrument",
-                "spring-jcl",
-                "spring-jdbc",
-                "spring-jms",
-                "spring-messaging",
-                "spring-orm",
-                "spring-oxm",
-                "spring-test",
-                "spring-tx",
-                "spring-web",
-                "spring-webflux",
-                "spring-webmvc",
-                "spring-websocket"};
-
-        for (String artifact : artifacts_5_1) {
-            doNext(new UpgradeDependencyVersion("org.springframework", artifact, newVersion, null, false));
-        }
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        Set<String> artifacts = new HashSet<>(ARTIFACTS_5_1);
         if (newVersion.startsWith("5.3")) {
-            doNext(new UpgradeDependencyVersion("org.springframework", "spring-r2dbc", newVersion, null, false));
+            artifacts.add("spring-r2dbc");
         }
+        VersionComparator versionComparator = Semver.validate(newVersion, null).getValue();
+        assert versionComparator != null;
+
+        return new MavenIsoVisitor<ExecutionContext>() {
+            /**
+             * The released versions of spring-framework for each set of repositories, looked up once and shared by all
+             * the POMs this visitor visits. Every artifact of spring-framework is released with the same versions, so
+             * those of spring-core stand for all of them.
+             */
+            private final Map<List<String>, List<String>> frameworkVersions = new HashMap<>();
+            private final Map<List<String>, MavenDownloadingException> downloadingExceptions = new HashMap<>();
+            private final Map<String, Optional<String>> upgrades = new HashMap<>();
+
+            /**
+             * The new values of the properties that versions are taken from, as the properties may be declared before
+             * the dependencies that use them.
+             */
+            private final Map<String, String> propertyVersions = new HashMap<>();
+
+            @Nullable
+            private MavenDownloadingException downloadingException;
+
+            @Override
+            public Xml.Document visitDocument(Xml.Document document, ExecutionContext ctx) {
+                propertyVersions.clear();
+                downloadingException = null;
+
+                Xml.Document d = super.visitDocument(document, ctx);
+                if (!propertyVersions.isEmpty()) {
+                    Map<String, String> inheritedVersions = new HashMap<>(propertyVersions);
+                    d = (Xml.Document) new UpgradePropertyVersions((property, currentVersion) -> {
+                        inheritedVersions.remove(property);
+                        String newVersion = propertyVersions.get(property);
+                        return newVersion != null && UpgradeInheritedPropertyVersions.isUpgrade(currentVersion, newVersion) ? newVersion : null;
+                    }).visitNonNull(d, ctx);
+                    if (!inheritedVersions.isEmpty()) {
+                        Recipe upgradeInherited = new UpgradeInheritedPropertyVersions(inheritedVersions);
+                        if (!getRecipeList().contains(upgradeInherited)) {
+                            doNext(upgradeInherited);
+                        }
+                    }
+                }
+                if (d != document) {
+                    maybeUpdateModel();
+                }
+                return downloadingException == null ? d : downloadingException.warn(d);
+            }
+
+            @Override
+            public Xml.Tag visitTag(Xml.Tag tag, ExecutionContext ctx) {
+                Xml.Tag t = super.visitTag(tag, ctx);
+                String artifactId = null;
+                String resolvedVersion = null;
+                if (isManagedDependencyTag()) {
+                    ResolvedManagedDependency managedDependency = findManagedDependency(t);
+                    if (managedDependency != null && SPRING_FRAMEWORK_GROUP.equals(managedDependency.getGroupId())) {
+                        artifactId = managedDependency.getArtifactId();
+                        resolvedVersion = managedDependency.getVersion();
+                    }
+                } else if (isDependencyTag()) {
+                    ResolvedDependency dependency = findDependency(t);
+                    if (dependency != null && SPRING_FRAMEWORK_GROUP.equals(dependency.getGroupId())) {
+                        artifactId = dependency.getArtifactId();
+                        resolvedVersion = dependency.getVersion();
+                    }
+                }
+
+                if (artifactId != null && artifacts.contains(artifactId)) {
+                    Optional<String> version = t.getChildValue("version");
+                    if (version.isPresent()) {
+                        String currentVersion = version.get().trim();
+                        if (currentVersion.startsWith("${") && currentVersion.endsWith("}")) {
+                            // the property may be declared in a parent POM, so it is upgraded from the version it resolved to
+                            String upgrade = resolvedVersion == null ? null : upgrade(resolvedVersion, ctx);
+                            if (upgrade != null) {
+                                propertyVersions.putIfAbsent(currentVersion.substring(2, currentVersion.length() - 1), upgrade);
+                            }
+                        } else {
+                            String upgrade = upgrade(currentVersion, ctx);
+                            if (upgrade != null) {
+                                t = t.withChildValue("version", upgrade);
+                            }
+                        }
+                    }
+                }
+                return t;
+            }
+
+            @Nullable
+            private String upgrade(String currentVersion, ExecutionContext ctx) {
+                List<String> versions = frameworkVersions(ctx);
+                if (versions == null) {
+                    return null;
+                }
+                return upgrades.computeIfAbsent(currentVersion, v -> versionComparator.upgrade(currentVersion, versions))
+                        .orElse(null);
+            }
+
+            @Nullable
+            private List<String> frameworkVersions(ExecutionContext ctx) {
+                ResolvedPom pom = getResolutionResult().getPom();
+                List<String> repositories = new ArrayList<>();
+                for (MavenRepository repository : pom.getRepositories()) {
+                    repositories.add(repository.getUri());
+                }
 
-        return super.visit(before, ctx);
+                List<String> versions = frameworkVersions.get(repositories);
+                if (versions == null) {
+                    MavenDownloadingException failure = downloadingExceptions.get(repositories);
+                    if (failure == null) {
+                        try {
+                            versions = new MavenPomDownloader(Collections.emptyMap(), ctx)
+                                    .downloadMetadata(new GroupArtifact(SPRING_FRAMEWORK_GROUP, "spring-core"), pom, pom.getRepositories())
+                                    .getVersioning()
+                                    .getVersions();
+                            frameworkVersions.put(repositories, versions);
+                        } catch (MavenDownloadingException e) {
+                            failure = e;
+                            downloadingExceptions.put(repositories, e);
+                        }
+                    }
+                    if (failure != null) {
+                        downloadingException = failure;
+                    }
+                }
+                return versions;
+            }
+        };
     }
 }
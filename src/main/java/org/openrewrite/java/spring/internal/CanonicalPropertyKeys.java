@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.NameCaseConvention;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The canonical forms of Spring property keys under
+ * <a href="https://docs.spring.io/spring-boot/docs/current/reference/html/features.html#features.external-config.typesafe-configuration-properties.relaxed-binding">relaxed binding</a>,
+ * which every property recipe compares keys by. `spring.main.showBanner`, `spring.main.show-banner`,
+ * `spring.main.show_banner` all have the canonical form `spring.main.showbanner`. In a .properties file or another
+ * environment source, the environment variable form `SPRING_MAIN_SHOWBANNER` has the same canonical form, but in YAML
+ * it is an ordinary key.
+ * <P>
+ * The same keys are looked up over and over while visiting the configuration files of a repository, so canonical forms
+ * are computed once and kept in bounded caches, which are cleared when they grow past their bound.
+ */
+public final class CanonicalPropertyKeys {
+    private static final int MAX_CACHED_KEYS = 16_384;
+
+    private static final Map<String, String> SEGMENTS = new ConcurrentHashMap<>();
+    private static final Map<String, String> KEYS = new ConcurrentHashMap<>();
+    private static final Map<String, String> ENVIRONMENT_KEYS = new ConcurrentHashMap<>();
+    private static final Map<String, String> KEBAB_CASE_KEYS = new ConcurrentHashMap<>();
+
+    private CanonicalPropertyKeys() {
+    }
+
+    /**
+     * @param segment One segment of a property key.
+     * @return The segment in lowercase, without dashes or underscores.
+     */
+    public static String canonicalSegment(String segment) {
+        return cached(SEGMENTS, segment, CanonicalPropertyKeys::computeCanonicalSegment);
+    }
+
+    /**
+     * @param key A dotted property key.
+     * @return The canonical segments of the key, joined by dots.
+     */
+    public static String canonicalKey(String key) {
+        return cached(KEYS, key, k -> computeCanonicalKey(k, "\\."));
+    }
+
+    /**
+     * @param key A property key of a .properties file or another environment source, which may be in environment
+     *            variable form.
+     * @return The canonical segments of the key, joined by dots.
+     */
+    public static String canonicalEnvironmentKey(String key) {
+        return isEnvironmentVariable(key) ?
+                cached(ENVIRONMENT_KEYS, key, k -> computeCanonicalKey(k, "_")) :
+                canonicalKey(key);
+    }
+
+    /**
+     * @return true if both keys of an environment source bind to the same property.
+     */
+    public static boolean matches(String key, String otherKey) {
+        return key.equals(otherKey) || canonicalEnvironmentKey(key).equals(canonicalEnvironmentKey(otherKey));
+    }
+
+    /**
+     * @param key A dotted property key.
+     * @return The key in the lowercase, hyphen-separated form recommended by the Spring reference documentation.
+     */
+    public static String kebabCase(String key) {
+        return cached(KEBAB_CASE_KEYS, key, NameCaseConvention.LOWER_HYPHEN::format);
+    }
+
+    private static String cached(Map<String, String> cache, String key, Function<String, String> compute) {
+        String cached = cache.get(key);
+        if (cached == null) {
+            if (cache.size() >= MAX_CACHED_KEYS) {
+                cache.clear();
+            }
+            cached = compute.apply(key);
+            cache.putIfAbsent(key, cached);
+        }
+        return cached;
+    }
+
+    private static String computeCanonicalSegment(String segment) {
+        StringBuilder canonical = new StringBuilder(segment.length());
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c != '-' && c != '_') {
+                canonical.append(Character.toLowerCase(c));
+            }
+        }
+        return canonical.toString();
+    }
+
+    private static String computeCanonicalKey(String key, String separator) {
+        StringJoiner canonical = new StringJoiner(".");
+        for (String segment : key.split(separator)) {
+            canonical.add(canonicalSegment(segment));
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * Environment variables can't contain dots, so Spring binds them by reading underscores as dots.
+     */
+    private static boolean isEnvironmentVariable(String key) {
+        boolean underscore = false;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '_') {
+                underscore = true;
+            } else if (!(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9')) {
+                return false;
+            }
+        }
+        return underscore;
+    }
+}
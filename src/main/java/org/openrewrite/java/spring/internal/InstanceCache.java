@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Values computed from an immutable instance, such as a source file or a marker, cached in an execution context for
+ * that instance. Each value is remembered along with a weak reference to the instance it was computed from, so that a
+ * changed instance with the same id is computed again, and so that the cache does not keep instances from being
+ * collected. Values must therefore not hold strong references to their instance or to anything within it.
+ * <P>
+ * Values are computed at most once per instance, even when several threads ask for the same instance at once. When the
+ * cache grows past its bound, the values of collected instances are dropped, and if that is not enough, every value is.
+ * Every cache of an execution context can also be dropped at once with {@link #clear(ExecutionContext)}.
+ *
+ * @param <K> The type of instance values are computed from.
+ * @param <V> The type of value.
+ */
+public final class InstanceCache<K, V> {
+    private static final int MAX_CACHED_VALUES = 4_096;
+
+    /**
+     * The execution context message that holds every cache of the context by name.
+     */
+    private static final String CACHES = "org.openrewrite.java.spring.instanceCaches";
+
+    private final Map<UUID, Cached<K, V>> values = new ConcurrentHashMap<>();
+
+    private InstanceCache() {
+    }
+
+    /**
+     * @param ctx      The execution context that holds the cache.
+     * @param name     The name of the cache in the execution context.
+     * @param id       The id of the instance.
+     * @param instance The instance to compute a value from.
+     * @param compute  Computes the value of an instance.
+     * @return The value of the instance.
+     */
+    public static <K, V> V get(ExecutionContext ctx, String name, UUID id, K instance, Function<K, V> compute) {
+        Map<String, InstanceCache<?, ?>> caches = ctx.getMessage(CACHES);
+        if (caches == null) {
+            synchronized (ctx) {
+                caches = ctx.getMessage(CACHES);
+                if (caches == null) {
+                    caches = new ConcurrentHashMap<>();
+                    ctx.putMessage(CACHES, caches);
+                }
+            }
+        }
+        //noinspection unchecked
+        InstanceCache<K, V> cache = (InstanceCache<K, V>) caches.computeIfAbsent(name, n -> new InstanceCache<>());
+        return cache.get(id, instance, compute);
+    }
+
+    /**
+     * Drops every cache of an execution context, as when the instances it has seen so far are not looked at again.
+     *
+     * @param ctx The execution context that holds the caches.
+     */
+    public static void clear(ExecutionContext ctx) {
+        synchronized (ctx) {
+            ctx.pollMessage(CACHES);
+        }
+    }
+
+    @Nullable
+    static InstanceCache<?, ?> find(ExecutionContext ctx, String name) {
+        Map<String, InstanceCache<?, ?>> caches = ctx.getMessage(CACHES);
+        return caches == null ? null : caches.get(name);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    private V get(UUID id, K instance, Function<K, V> compute) {
+        Cached<K, V> cached = values.get(id);
+        if (cached != null && cached.instance.get() == instance) {
+            return cached.value;
+        }
+
+        if (values.size() >= MAX_CACHED_VALUES) {
+            values.values().removeIf(c -> c.instance.get() == null);
+            if (values.size() >= MAX_CACHED_VALUES) {
+                values.clear();
+            }
+        }
+        return values.compute(id, (i, c) -> c != null && c.instance.get() == instance ? c :
+                new Cached<>(new WeakReference<>(instance), compute.apply(instance))).value;
+    }
+
+    private static class Cached<K, V> {
+        private final WeakReference<K> instance;
+        private final V value;
+
+        private Cached(WeakReference<K> instance, V value) {
+            this.instance = instance;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Maps the source files of a recipe that visits the whole list of source files, like {@link ListUtils#map} and
+ * {@link ListUtils#flatMap}, on the common fork-join pool when
+ * {@link SpringExecutionContextView#isParallelSourceFileProcessing()} is switched on. Each source file must be mapped
+ * independently of the others, so this is only meant for YAML and properties files: Java visitors that schedule
+ * further visits or share a type cache are not safe to run on several threads at once. Results are collected by position, so the resulting list is in the same order as it
+ * would be when mapped one file at a time.
+ */
+public final class ParallelSourceFiles {
+    /**
+     * The number of source files below which a slice of the list is mapped by the worker that holds it, rather than
+     * split again.
+     */
+    private static final int SLICE_SIZE = 8;
+
+    private ParallelSourceFiles() {
+    }
+
+    /**
+     * @param map Maps a source file to its replacement, or to null to delete it.
+     * @return The mapped list, or the list itself when no source file changed.
+     */
+    public static <T> List<T> map(List<T> before, ExecutionContext ctx, UnaryOperator<T> map) {
+        if (!SpringExecutionContextView.view(ctx).isParallelSourceFileProcessing()) {
+            return ListUtils.map(before, map);
+        }
+        return collect(before, apply(before, map));
+    }
+
+    /**
+     * @param flatMap Maps a source file to its replacement, to a collection of source files that replace it, or to null
+     *                to delete it.
+     * @return The mapped list, or the list itself when no source file changed.
+     */
+    public static <T> List<T> flatMap(List<T> before, ExecutionContext ctx, Function<T, Object> flatMap) {
+        if (!SpringExecutionContextView.view(ctx).isParallelSourceFileProcessing()) {
+            return ListUtils.flatMap(before, flatMap);
+        }
+        return collect(before, apply(before, flatMap));
+    }
+
+    private static <T> Object[] apply(List<T> before, Function<T, ?> map) {
+        Object[] results = new Object[before.size()];
+        ForkJoinPool.commonPool().invoke(new Slice<>(before, map, results, 0, before.size()));
+        return results;
+    }
+
+    private static <T> List<T> collect(List<T> before, Object[] results) {
+        List<T> after = new ArrayList<>(before.size());
+        boolean changed = false;
+        for (int i = 0; i < results.length; i++) {
+            Object result = results[i];
+            if (result == before.get(i)) {
+                after.add(before.get(i));
+                continue;
+            }
+
+            changed = true;
+            if (result instanceof Collection) {
+                for (Object each : (Collection<?>) result) {
+                    //noinspection unchecked
+                    after.add((T) each);
+                }
+            } else if (result != null) {
+                //noinspection unchecked
+                after.add((T) result);
+            }
+        }
+        return changed ? after : before;
+    }
+
+    private static class Slice<T> extends RecursiveAction {
+        private final List<T> before;
+        private final Function<T, ?> map;
+        private final Object[] results;
+        private final int start;
+        private final int end;
+
+        private Slice(List<T> before, Function<T, ?> map, Object[] results, int start, int end) {
+            this.before = before;
+            this.map = map;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SLICE_SIZE) {
+                for (int i = start; i < end; i++) {
+                    results[i] = map.apply(before.get(i));
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Slice<>(before, map, results, start, middle),
+                        new Slice<>(before, map, results, middle, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A cheap test of whether a configuration file could contain any of a set of property keys, used to skip files before
+ * visiting them. It looks at the keys of the file, as collected once by a property index, or at its text. Because a YAML
+ * file spreads the segments of a key over several entries, a key is considered possibly present when every one of its
+ * segments occurs somewhere in the keys or text. All segments are searched for at once
+ * with an Aho-Corasick automaton over the text, folded the same way as Spring's relaxed binding (case, dashes, and
+ * underscores are ignored).
+ * <P>
+ * The test may report false positives, but never a false negative. Building the automaton costs as much as the keys
+ * are long, so recipes build it once with {@link #lazy(Supplier)} and keep it.
+ */
+public class PropertyKeyPrefilter {
+    private static final int ALPHABET = 37;
+    private static final int OTHER = 36;
+
+    private final int[][] transitions;
+    private final int[][] outputs;
+    private final int[][] keysBySegment;
+    private final int[] segmentsByKey;
+
+    /**
+     * True when some key has no literal segments (for example `*`), so that any text could contain it.
+     */
+    private final boolean matchesAnything;
+
+    public PropertyKeyPrefilter(Collection<String> keys) {
+        Map<String, Integer> segmentIds = new LinkedHashMap<>();
+        List<List<Integer>> keysBySegment = new ArrayList<>();
+        List<Integer> segmentsByKey = new ArrayList<>();
+        boolean matchesAnything = false;
+
+        for (String key : keys) {
+            Set<Integer> keySegments = new LinkedHashSet<>();
+            for (String segment : PropertyKeyTrie.segments(key)) {
+                String canonical = CanonicalPropertyKeys.canonicalSegment(segment);
+                if (canonical.isEmpty() || canonical.contains("*") || canonical.contains("?")) {
+                    continue;
+                }
+                keySegments.add(segmentIds.computeIfAbsent(canonical, s -> {
+                    keysBySegment.add(new ArrayList<>());
+                    return segmentIds.size();
+                }));
+            }
+            if (keySegments.isEmpty()) {
+                matchesAnything = true;
+            }
+            for (Integer segment : keySegments) {
+                keysBySegment.get(segment).add(segmentsByKey.size());
+            }
+            segmentsByKey.add(keySegments.size());
+        }
+
+        this.matchesAnything = matchesAnything;
+        this.segmentsByKey = segmentsByKey.stream().mapToInt(Integer::intValue).toArray();
+        this.keysBySegment = new int[keysBySegment.size()][];
+        for (int i = 0; i < keysBySegment.size(); i++) {
+            this.keysBySegment[i] = keysBySegment.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // the goto function of the automaton, as a trie of the segments
+        List<int[]> transitions = new ArrayList<>();
+        List<Set<Integer>> outputs = new ArrayList<>();
+        transitions.add(newState());
+        outputs.add(new HashSet<>());
+        for (Map.Entry<String, Integer> segment : segmentIds.entrySet()) {
+            int state = 0;
+            for (int i = 0; i < segment.getKey().length(); i++) {
+                int symbol = symbol(segment.getKey().charAt(i));
+                if (transitions.get(state)[symbol] < 0) {
+                    transitions.get(state)[symbol] = transitions.size();
+                    transitions.add(newState());
+                    outputs.add(new HashSet<>());
+                }
+                state = transitions.get(state)[symbol];
+            }
+            outputs.get(state).add(segment.getValue());
+        }
+
+        // failure links, folded into the transitions so that matching never backtracks
+        int[] failure = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int next = transitions.get(0)[symbol];
+            if (next < 0) {
+                transitions.get(0)[symbol] = 0;
+            } else {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int next = transitions.get(state)[symbol];
+                int fallback = transitions.get(failure[state])[symbol];
+                if (next < 0) {
+                    transitions.get(state)[symbol] = fallback;
+                } else {
+                    failure[next] = fallback;
+                    outputs.get(next).addAll(outputs.get(fallback));
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = transitions.toArray(new int[0][]);
+        this.outputs = new int[outputs.size()][];
+        for (int i = 0; i < outputs.size(); i++) {
+            this.outputs[i] = outputs.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * @param keys The keys of a configuration file, such as those of its {@code SpringPropertyIndex}.
+     * @return A prefilter that is built from the keys the first time it is used, and then kept.
+     */
+    public static Supplier<PropertyKeyPrefilter> lazy(Supplier<Collection<String>> keys) {
+        return new Supplier<PropertyKeyPrefilter>() {
+            @Nullable
+            private volatile PropertyKeyPrefilter prefilter;
+
+            @Override
+            public PropertyKeyPrefilter get() {
+                PropertyKeyPrefilter p = prefilter;
+                if (p == null) {
+                    synchronized (this) {
+                        p = prefilter;
+                        if (p == null) {
+                            p = new PropertyKeyPrefilter(keys.get());
+                            prefilter = p;
+                        }
+                    }
+                }
+                return p;
+            }
+        };
+    }
+
+    /**
+     * @param text The text of a configuration file.
+     * @return false if the text certainly contains none of the keys.
+     */
+    public boolean mayContain(CharSequence text) {
+        return mayContain(Collections.singletonList(text));
+    }
+
+    /**
+     * @param fileKeys The property keys of a configuration file.
+     * @return false if the file certainly contains none of the keys.
+     */
+    public boolean mayContain(Collection<? extends CharSequence> fileKeys) {
+        if (matchesAnything) {
+            return true;
+        }
+        if (segmentsByKey.length == 0) {
+            return false;
+        }
+
+        int[] remaining = segmentsByKey.clone();
+        boolean[] found = new boolean[keysBySegment.length];
+        for (CharSequence text : fileKeys) {
+            if (scan(text, remaining, found)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean scan(CharSequence text, int[] remaining, boolean[] found) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '-' || c == '_') {
+                continue;
+            }
+            state = transitions[state][symbol(c)];
+            for (int segment : outputs[state]) {
+                if (!found[segment]) {
+                    found[segment] = true;
+                    for (int key : keysBySegment[segment]) {
+                        if (--remaining[key] == 0) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        } else if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        } else if (c >= '0' && c <= '9') {
+            return 26 + c - '0';
+        }
+        return OTHER;
+    }
+}
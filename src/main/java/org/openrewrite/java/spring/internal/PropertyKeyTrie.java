@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.Value;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.*;
+
+/**
+ * A trie of dotted Spring property keys, where each node represents one segment of a key. Segments are compared
+ * by their {@link CanonicalPropertyKeys canonical form}, so `spring.main.showBanner` and `spring.main.show-banner`
+ * share a path.
+ * A key segment of `*` matches any single segment.
+ *
+ * @param <T> The value associated with each key.
+ */
+public class PropertyKeyTrie<T> {
+    private static final String WILDCARD = "*";
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    public void put(String key, T value) {
+        Node<T> node = root;
+        for (String segment : segments(key)) {
+            node = node.children.computeIfAbsent(CanonicalPropertyKeys.canonicalSegment(segment), s -> new Node<>());
+        }
+        if (node.key == null) {
+            size++;
+        }
+        node.key = key;
+        node.value = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param segments The segments of a property key.
+     * @return The longest key in this trie that is equal to or a parent of the given key, or null if there is none.
+     */
+    @Nullable
+    public Match<T> longestPrefixMatch(List<String> segments) {
+        return longestPrefixMatch(root, segments, 0, null);
+    }
+
+    @Nullable
+    private Match<T> longestPrefixMatch(Node<T> node, List<String> segments, int depth, @Nullable Match<T> best) {
+        if (node.key != null && depth > 0 && (best == null || depth > best.getLength())) {
+            //noinspection ConstantConditions
+            best = new Match<>(node.key, node.value, depth);
+        }
+        if (depth == segments.size()) {
+            return best;
+        }
+        Node<T> exact = node.children.get(CanonicalPropertyKeys.canonicalSegment(segments.get(depth)));
+        if (exact != null) {
+            best = longestPrefixMatch(exact, segments, depth + 1, best);
+        }
+        Node<T> wildcard = node.children.get(WILDCARD);
+        if (wildcard != null) {
+            best = longestPrefixMatch(wildcard, segments, depth + 1, best);
+        }
+        return best;
+    }
+
+    public static List<String> segments(String key) {
+        return Arrays.asList(key.split("\\."));
+    }
+
+    /**
+     * @return true if the segments of the first key start with the segments of the second, compared with relaxed binding.
+     */
+    public static boolean startsWith(List<String> segments, List<String> prefix) {
+        if (prefix.size() > segments.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            if (!CanonicalPropertyKeys.canonicalSegment(segments.get(i)).equals(CanonicalPropertyKeys.canonicalSegment(prefix.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Value
+    public static class Match<T> {
+        /**
+         * The key, as it was added to the trie.
+         */
+        String key;
+
+        T value;
+
+        /**
+         * The number of segments of the searched key that were matched.
+         */
+        int length;
+    }
+
+    private static class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+
+        @Nullable
+        private String key;
+
+        @Nullable
+        private T value;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.marker.SearchResult;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of glob expressions over source paths, compiled once and shared by every recipe that selects configuration
+ * files by path. Like {@link org.openrewrite.HasSourcePath}, an expression starting with `**` is matched against the
+ * normalized path resolved against `.`, so that it also matches files in the root directory.
+ * <P>
+ * Matchers are cached by their expressions, and each remembers whether it matched a source path, as the same paths are
+ * tested by recipe after recipe. Both caches are cleared when they grow past their bound.
+ */
+public final class SourcePathMatcher {
+    private static final int MAX_CACHED_MATCHERS = 256;
+    private static final int MAX_CACHED_PATHS = 16_384;
+
+    private static final Map<List<String>, SourcePathMatcher> MATCHERS = new ConcurrentHashMap<>();
+
+    private final List<PathMatcher> relativeToRoot = new ArrayList<>();
+    private final List<PathMatcher> normalized = new ArrayList<>();
+    private final boolean matchesAnything;
+    private final Map<Path, Boolean> matches = new ConcurrentHashMap<>();
+
+    private SourcePathMatcher(List<String> globs) {
+        for (String glob : globs) {
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+            (glob.startsWith("**") ? relativeToRoot : normalized).add(matcher);
+        }
+        this.matchesAnything = globs.isEmpty();
+    }
+
+    /**
+     * @param globs Glob expressions, any of which a source path must match. No expressions match every source path.
+     * @return The compiled matcher of these expressions.
+     */
+    public static SourcePathMatcher of(List<String> globs) {
+        SourcePathMatcher matcher = MATCHERS.get(globs);
+        if (matcher == null) {
+            if (MATCHERS.size() >= MAX_CACHED_MATCHERS) {
+                MATCHERS.clear();
+            }
+            List<String> key = new ArrayList<>(globs);
+            matcher = MATCHERS.computeIfAbsent(key, SourcePathMatcher::new);
+        }
+        return matcher;
+    }
+
+    public boolean matches(Path sourcePath) {
+        if (matchesAnything) {
+            return true;
+        }
+        Boolean cached = matches.get(sourcePath);
+        if (cached == null) {
+            if (matches.size() >= MAX_CACHED_PATHS) {
+                matches.clear();
+            }
+            cached = computeMatches(sourcePath);
+            matches.put(sourcePath, cached);
+        }
+        return cached;
+    }
+
+    private boolean computeMatches(Path sourcePath) {
+        Path normalizedPath = sourcePath.normalize();
+        for (PathMatcher matcher : normalized) {
+            if (matcher.matches(normalizedPath)) {
+                return true;
+            }
+        }
+        if (!relativeToRoot.isEmpty()) {
+            Path rootedPath = Paths.get(".").resolve(normalizedPath);
+            for (PathMatcher matcher : relativeToRoot) {
+                if (matcher.matches(rootedPath)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return An applicability test that finds source files whose path matches, in place of
+     * {@link org.openrewrite.HasSourcePath}.
+     */
+    public <P> TreeVisitor<?, P> asVisitor() {
+        return new TreeVisitor<Tree, P>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, P p) {
+                if (tree instanceof SourceFile && matches(((SourceFile) tree).getSourcePath())) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.Value;
+import org.openrewrite.Recipe;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.ChangeSpringPropertyKey;
+import org.openrewrite.java.spring.ChangeSpringPropertyKeys;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Plans the property key renames needed to move a Spring Boot application between two versions. The renames of each
+ * version are the same as those of the `SpringBootProperties_*` recipes of this library's recipe catalog, but are read
+ * from a compact table with a single read, and composed into as few passes over the configuration files as possible.
+ * <P>
+ * Plain renames of every version are composed into a single map from every old key to its final key. A rename that
+ * leaves some children of its old key in place (like `spring.profiles` in 2.4) can't be part of that map, so it is
+ * applied in a pass of its own, after the renames that precede it. Later renames that read or write keys which such a
+ * rename touches stay after it, in another composed pass.
+ */
+public class SpringBootPropertyMigrations {
+    /**
+     * The renames of every version, tabulated from the `SpringBootProperties_*` recipes of the recipe catalog at build
+     * time so that they can be read without parsing and building those recipes.
+     */
+    private static final String MIGRATIONS = "spring-boot-property-migrations.tsv";
+
+    private static final Map<List<String>, List<Recipe>> PLANS = new ConcurrentHashMap<>();
+
+    private static volatile List<Step> steps;
+
+    private SpringBootPropertyMigrations() {
+    }
+
+    /**
+     * @param fromVersion The Spring Boot version that is migrated from, exclusive. If null, every version up to the
+     *                    target version is included.
+     * @param toVersion   The Spring Boot version that is migrated to, inclusive.
+     * @return The recipes that rename the property keys, in the order they must run.
+     */
+    public static List<Recipe> plan(@Nullable String fromVersion, String toVersion) {
+        return new ArrayList<>(PLANS.computeIfAbsent(Arrays.asList(fromVersion, toVersion), versions -> {
+            int[] from = fromVersion == null ? null : parseVersion(fromVersion.replace('.', '_'));
+            int[] to = parseVersion(toVersion.replace('.', '_'));
+
+            List<Step> selected = new ArrayList<>();
+            for (Step step : steps()) {
+                if ((from == null || compareVersions(step.getVersion(), from) > 0) && compareVersions(step.getVersion(), to) <= 0) {
+                    selected.add(step);
+                }
+            }
+            return plan(selected);
+        }));
+    }
+
+    static List<Recipe> plan(List<Step> steps) {
+        // each pass is either the renames of several steps, to be composed, or a single rename with exceptions
+        List<Object> passes = new ArrayList<>();
+        List<Map<String, String>> first = new ArrayList<>();
+        passes.add(first);
+
+        // the keys of the renames with exceptions, and of every rename that has to stay after one of them
+        List<List<String>> ordered = new ArrayList<>();
+        for (Step step : steps) {
+            Map<String, String> early = new LinkedHashMap<>();
+            Map<String, String> late = new LinkedHashMap<>();
+            for (Rename rename : step.getRenames()) {
+                if (rename.getExcept().isEmpty()) {
+                    if (overlaps(ordered, rename)) {
+                        late.put(rename.getOldKey(), rename.getNewKey());
+                        ordered.add(PropertyKeyTrie.segments(rename.getOldKey()));
+                        ordered.add(PropertyKeyTrie.segments(rename.getNewKey()));
+                    } else {
+                        early.put(rename.getOldKey(), rename.getNewKey());
+                    }
+                } else {
+                    addPlainRenames(passes, first, early, late);
+                    early = new LinkedHashMap<>();
+                    late = new LinkedHashMap<>();
+                    passes.add(rename);
+                    ordered.add(PropertyKeyTrie.segments(rename.getOldKey()));
+                    ordered.add(PropertyKeyTrie.segments(rename.getNewKey()));
+                }
+            }
+            addPlainRenames(passes, first, early, late);
+        }
+
+        List<Recipe> recipes = new ArrayList<>(passes.size());
+        for (Object pass : passes) {
+            if (pass instanceof Rename) {
+                Rename rename = (Rename) pass;
+                recipes.add(new ChangeSpringPropertyKey(rename.getOldKey(), rename.getNewKey(), rename.getExcept()));
+            } else {
+                @SuppressWarnings("unchecked") Map<String, String> composed = compose((List<Map<String, String>>) pass);
+                if (!composed.isEmpty()) {
+                    recipes.add(new ChangeSpringPropertyKeys(composed));
+                }
+            }
+        }
+        return recipes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addPlainRenames(List<Object> passes, List<Map<String, String>> first,
+                                        Map<String, String> early, Map<String, String> late) {
+        if (!early.isEmpty()) {
+            first.add(early);
+        }
+        if (!late.isEmpty()) {
+            if (passes.get(passes.size() - 1) instanceof Rename) {
+                passes.add(new ArrayList<Map<String, String>>());
+            }
+            ((List<Map<String, String>>) passes.get(passes.size() - 1)).add(late);
+        }
+    }
+
+    /**
+     * @return true if either key of the rename is equal to, beneath, or above one of the keys.
+     */
+    private static boolean overlaps(List<List<String>> keys, Rename rename) {
+        List<String> oldKey = PropertyKeyTrie.segments(rename.getOldKey());
+        List<String> newKey = PropertyKeyTrie.segments(rename.getNewKey());
+        for (List<String> key : keys) {
+            if (isPrefix(key, oldKey) || isPrefix(oldKey, key) || isPrefix(key, newKey) || isPrefix(newKey, key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPrefix(List<String> prefix, List<String> segments) {
+        if (prefix.size() > segments.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            if (!"*".equals(prefix.get(i)) && !"*".equals(segments.get(i)) &&
+                !CanonicalPropertyKeys.canonicalSegment(prefix.get(i)).equals(CanonicalPropertyKeys.canonicalSegment(segments.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Composes ordered steps of property key renames into a single map. If `a` is renamed to `b` by one step and `b`
+     * is renamed to `c` by a later step, the result renames both `a` and `b` to `c`. Renames of keys beneath an earlier
+     * new key are carried back to the earlier old key, so `a` to `b` followed by `b.x` to `c` also renames `a.x` to `c`.
+     *
+     * @param steps Maps of old property keys to their new keys, in the order they are applied.
+     * @return The old property keys mapped to their final new keys.
+     */
+    public static Map<String, String> compose(List<Map<String, String>> steps) {
+        Map<String, String> composed = new LinkedHashMap<>();
+        for (Map<String, String> step : steps) {
+            PropertyKeyTrie<String> stepTrie = new PropertyKeyTrie<>();
+            step.forEach(stepTrie::put);
+
+            Map<String, String> previous = composed;
+            Map<String, String> next = new LinkedHashMap<>();
+            previous.forEach((oldKey, newKey) -> next.put(oldKey, renamed(stepTrie, newKey)));
+
+            step.forEach((oldKey, newKey) -> {
+                List<String> oldSegments = PropertyKeyTrie.segments(oldKey);
+                previous.forEach((earlierOldKey, earlierNewKey) -> {
+                    List<String> earlierNewSegments = PropertyKeyTrie.segments(earlierNewKey);
+                    if (oldSegments.size() > earlierNewSegments.size() && PropertyKeyTrie.startsWith(oldSegments, earlierNewSegments)) {
+                        List<String> carried = new ArrayList<>(PropertyKeyTrie.segments(earlierOldKey));
+                        carried.addAll(oldSegments.subList(earlierNewSegments.size(), oldSegments.size()));
+                        next.putIfAbsent(String.join(".", carried), newKey);
+                    }
+                });
+                next.putIfAbsent(oldKey, newKey);
+            });
+            composed = next;
+        }
+
+        // a key that is renamed and later renamed back is left alone
+        composed.entrySet().removeIf(rename -> {
+            List<String> oldSegments = PropertyKeyTrie.segments(rename.getKey());
+            List<String> newSegments = PropertyKeyTrie.segments(rename.getValue());
+            return oldSegments.size() == newSegments.size() && PropertyKeyTrie.startsWith(oldSegments, newSegments);
+        });
+        return composed;
+    }
+
+    private static String renamed(PropertyKeyTrie<String> renames, String key) {
+        List<String> segments = PropertyKeyTrie.segments(key);
+        PropertyKeyTrie.Match<String> match = renames.longestPrefixMatch(segments);
+        if (match == null) {
+            return key;
+        }
+        List<String> renamed = new ArrayList<>(PropertyKeyTrie.segments(match.getValue()));
+        renamed.addAll(segments.subList(match.getLength(), segments.size()));
+        return String.join(".", renamed);
+    }
+
+    static List<Step> steps() {
+        if (steps == null) {
+            synchronized (SpringBootPropertyMigrations.class) {
+                if (steps == null) {
+                    List<Step> loaded = loadSteps();
+                    loaded.sort((s1, s2) -> compareVersions(s1.getVersion(), s2.getVersion()));
+                    steps = loaded;
+                }
+            }
+        }
+        return steps;
+    }
+
+    private static List<Step> loadSteps() {
+        String table;
+        try (InputStream is = SpringBootPropertyMigrations.class.getResourceAsStream(MIGRATIONS)) {
+            if (is == null) {
+                throw new IllegalStateException("Unable to find " + MIGRATIONS + " on the classpath. It is generated by " +
+                                                "the generateSpringBootPropertyMigrations build task.");
+            }
+            table = StringUtils.readFully(is);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<Step> loaded = new ArrayList<>();
+        List<Rename> renames = null;
+        for (String line : table.split("\\r?\\n")) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", -1);
+            if (columns.length == 1) {
+                renames = new ArrayList<>();
+                loaded.add(new Step(parseVersion(line.trim().replace('.', '_')), renames));
+            } else if (renames != null) {
+                renames.add(new Rename(columns[0], columns[1], columns.length > 2 && !columns[2].isEmpty() ?
+                        Arrays.asList(columns[2].split(",")) : Collections.emptyList()));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @param version A version with components separated by underscores, like `2_7` or `3_0_0`. Parsing stops at the
+     *                first component that is not a number, so `2_7_x` is read as `2_7`.
+     */
+    private static int[] parseVersion(String version) {
+        String[] parts = version.split("_");
+        int[] parsed = new int[parts.length];
+        int i = 0;
+        for (; i < parts.length; i++) {
+            try {
+                parsed[i] = Integer.parseInt(parts[i]);
+            } catch (NumberFormatException e) {
+                break;
+            }
+        }
+        return Arrays.copyOf(parsed, i);
+    }
+
+    private static int compareVersions(int[] v1, int[] v2) {
+        for (int i = 0; i < Math.max(v1.length, v2.length); i++) {
+            int c = Integer.compare(i < v1.length ? v1[i] : 0, i < v2.length ? v2[i] : 0);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    @Value
+    static class Step {
+        int[] version;
+
+        /**
+         * The renames of the version, in the order the `SpringBootProperties_*` recipe of the version applies them.
+         */
+        List<Rename> renames;
+    }
+
+    @Value
+    static class Rename {
+        String oldKey;
+        String newKey;
+
+        /**
+         * The children of the old key that are left in place, like the `except` option of {@link ChangeSpringPropertyKey}.
+         */
+        List<String> except;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.InstanceCache;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.tree.Scope;
+import org.openrewrite.semver.VersionComparator;
+
+import java.util.*;
+
+/**
+ * An index of the resolved dependencies of a Maven project by scope and `groupId:artifactId`, so that recipes which
+ * only apply to projects on some version of a dependency can look it up directly, rather than scanning every
+ * (often transitive) dependency of the project.
+ * <P>
+ * Indexes are cached in the execution context with an {@link InstanceCache} for the instance of the
+ * {@link MavenResolutionResult} they were built from, which is replaced whenever the model of a POM changes.
+ */
+public class MavenDependencyIndex {
+    private static final String INDEX_CACHE = "org.openrewrite.java.spring.mavenDependencyIndexCache";
+
+    private final Map<Scope, Map<String, List<String>>> versionsByScope;
+
+    private MavenDependencyIndex(Map<Scope, Map<String, List<String>>> versionsByScope) {
+        this.versionsByScope = versionsByScope;
+    }
+
+    /**
+     * @return The distinct resolved versions of the dependency in the scope, in the order they were resolved.
+     */
+    public List<String> versions(Scope scope, String groupId, String artifactId) {
+        return versionsByScope.getOrDefault(scope, Collections.emptyMap())
+                .getOrDefault(groupId + ":" + artifactId, Collections.emptyList());
+    }
+
+    public boolean contains(Scope scope, String groupId, String artifactId) {
+        return !versions(scope, groupId, artifactId).isEmpty();
+    }
+
+    /**
+     * @param versionComparator The versions to accept, or null to accept any version.
+     * @return true if the dependency is resolved in the scope at an accepted version.
+     */
+    public boolean contains(Scope scope, String groupId, String artifactId, @Nullable VersionComparator versionComparator) {
+        for (String version : versions(scope, groupId, artifactId)) {
+            if (versionComparator == null || versionComparator.isValid(null, version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param resolutionResult The resolved model of a POM.
+     * @param ctx              The execution context that caches the index.
+     * @return The index of every resolved dependency of the POM.
+     */
+    public static MavenDependencyIndex of(MavenResolutionResult resolutionResult, ExecutionContext ctx) {
+        return InstanceCache.get(ctx, INDEX_CACHE, resolutionResult.getId(), resolutionResult, MavenDependencyIndex::build);
+    }
+
+    private static MavenDependencyIndex build(MavenResolutionResult resolutionResult) {
+        Map<Scope, Map<String, List<String>>> versionsByScope = new EnumMap<>(Scope.class);
+        resolutionResult.getDependencies().forEach((scope, dependencies) -> {
+            Map<String, List<String>> versions = new HashMap<>();
+            for (ResolvedDependency dependency : dependencies) {
+                List<String> resolved = versions.computeIfAbsent(dependency.getGroupId() + ":" + dependency.getArtifactId(),
+                        ga -> new ArrayList<>(1));
+                if (!resolved.contains(dependency.getVersion())) {
+                    resolved.add(dependency.getVersion());
+                }
+            }
+            versionsByScope.put(scope, versions);
+        });
+        return new MavenDependencyIndex(versionsByScope);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.internal.MavenPomDownloader;
+import org.openrewrite.maven.tree.*;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the managed dependency versions of a `spring-boot-dependencies` BOM, and keeps them in an on-disk cache so
+ * that a BOM is downloaded and resolved once per machine rather than once per run.
+ * <P>
+ * Each cache file holds the versions of one BOM version resolved from one set of repositories, as a line of
+ * `groupId:artifactId` and version separated by a tab for every managed dependency, and is read in a single call. The
+ * cache directory is set with {@link SpringExecutionContextView#setBomCacheDirectory(Path)}, and can be pre-seeded by
+ * copying cache files into it.
+ * <P>
+ * When {@link SpringExecutionContextView#setOfflineBomRepository(Path)} names a local Maven repository, BOMs that are
+ * not cached are resolved from that repository only, so that no BOM is ever downloaded.
+ * <P>
+ * A `-SNAPSHOT` BOM changes while keeping its version, so its cache file expires a day after it was written, the same as
+ * the daily update policy of snapshot repositories, and it is resolved again by the next run after that.
+ */
+public final class SpringBootBomCache {
+    static final String SPRINGBOOT_GROUP = "org.springframework.boot";
+    static final String SPRING_BOOT_DEPENDENCIES = "spring-boot-dependencies";
+
+    private static final List<MavenRepository> SPRING_REPOSITORIES = Arrays.asList(
+            new MavenRepository("repository.spring.milestone", "https://repo.spring.io/milestone", true, true, null, null),
+            new MavenRepository("spring-snapshot", "https://repo.spring.io/snapshot", false, true, null, null),
+            new MavenRepository("spring-release", "https://repo.spring.io/release", true, false, null, null)
+    );
+
+    private static final Duration SNAPSHOT_EXPIRY = Duration.ofDays(1);
+
+    private SpringBootBomCache() {
+    }
+
+    /**
+     * @param bootVersion The version of `spring-boot-dependencies`.
+     * @param ctx         The execution context, which configures the cache.
+     * @return The versions of the BOM's managed dependencies, keyed by `groupId:artifactId` (with the artifact id in
+     * lowercase).
+     * @throws MavenDownloadingException when the BOM is not cached and can't be resolved.
+     */
+    public static Map<String, String> managedVersions(String bootVersion, ExecutionContext ctx) throws MavenDownloadingException {
+        List<MavenRepository> repositories = repositories(ctx);
+        Path cacheFile = cacheFile(bootVersion, repositories, ctx);
+        Map<String, String> cached = read(cacheFile, bootVersion);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, String> managedVersions = resolve(bootVersion, repositories);
+        try {
+            write(cacheFile, managedVersions);
+        } catch (IOException e) {
+            // the versions were resolved, and will be resolved again by the next run
+            ctx.getOnError().accept(e);
+        }
+        return managedVersions;
+    }
+
+    private static Map<String, String> resolve(String bootVersion, List<MavenRepository> repositories) throws MavenDownloadingException {
+        Map<Path, Pom> poms = new HashMap<>();
+        MavenPomDownloader downloader = new MavenPomDownloader(poms, new InMemoryExecutionContext());
+        GroupArtifactVersion gav = new GroupArtifactVersion(SPRINGBOOT_GROUP, SPRING_BOOT_DEPENDENCIES, bootVersion);
+        Pom pom = downloader.download(gav, "", null, repositories);
+        ResolvedPom resolvedPom = pom.resolve(Collections.emptyList(), downloader, repositories, new InMemoryExecutionContext());
+
+        Map<String, String> managedVersions = new HashMap<>();
+        for (ResolvedManagedDependency d : resolvedPom.getDependencyManagement()) {
+            if (d.getVersion() != null) {
+                managedVersions.put(d.getGroupId() + ":" + d.getArtifactId().toLowerCase(), d.getVersion());
+            }
+        }
+        return managedVersions;
+    }
+
+    /**
+     * @return The cached versions, or null if they are not cached or the cached snapshot versions have expired.
+     */
+    @Nullable
+    static Map<String, String> read(Path cacheFile, String bootVersion) {
+        String cache;
+        try {
+            if (bootVersion.endsWith("-SNAPSHOT") && Files.getLastModifiedTime(cacheFile).toInstant()
+                    .isBefore(Instant.now().minus(SNAPSHOT_EXPIRY))) {
+                return null;
+            }
+            cache = new String(Files.readAllBytes(cacheFile), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+
+        Map<String, String> managedVersions = new HashMap<>();
+        for (String line : cache.split("\n")) {
+            int tab = line.indexOf('\t');
+            if (tab > 0) {
+                managedVersions.put(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+        return managedVersions.isEmpty() ? null : managedVersions;
+    }
+
+    private static void write(Path cacheFile, Map<String, String> managedVersions) throws IOException {
+        String cache = managedVersions.entrySet().stream()
+                .map(managed -> managed.getKey() + "\t" + managed.getValue())
+                .sorted()
+                .collect(Collectors.joining("\n", "", "\n"));
+
+        // written to a temporary file first, so that concurrent runs never read a partly written cache file
+        Files.createDirectories(cacheFile.getParent());
+        Path temp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, cache.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static List<MavenRepository> repositories(ExecutionContext ctx) {
+        Path offlineRepository = SpringExecutionContextView.view(ctx).getOfflineBomRepository();
+        return offlineRepository == null ? SPRING_REPOSITORIES :
+                Collections.singletonList(new MavenRepository("spring-boot-boms", offlineRepository.toUri().toString(), true, true, null, null));
+    }
+
+    static Path cacheFile(String bootVersion, List<MavenRepository> repositories, ExecutionContext ctx) {
+        return SpringExecutionContextView.view(ctx).getBomCacheDirectory().resolve(cacheFileName(bootVersion, repositories));
+    }
+
+    private static String cacheFileName(String bootVersion, List<MavenRepository> repositories) {
+        String repositoryUris = repositories.stream()
+                .map(MavenRepository::getUri)
+                .collect(Collectors.joining(","));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(repositoryUris.getBytes(StandardCharsets.UTF_8));
+            String repositoryHash = String.format("%064x", new BigInteger(1, digest)).substring(0, 16);
+            return SPRING_BOOT_DEPENDENCIES + "-" + bootVersion.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + repositoryHash + ".tsv";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.MavenDownloadingException;
+import org.openrewrite.maven.tree.MavenRepository;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * The managed dependency versions of `spring-boot-dependencies` BOMs, shared by every recipe in the JVM. Each BOM
+ * version is resolved once (through {@link SpringBootBomCache}) by the first thread that asks for it, while threads
+ * asking for a BOM that is already resolved never wait. Only the {@value #MAX_BOMS} most recently used BOMs are kept.
+ */
+public final class SpringBootBomRegistry {
+    private static final int MAX_BOMS = 8;
+
+    private static final Map<String, Bom> BOMS = new ConcurrentHashMap<>();
+    private static final AtomicLong USES = new AtomicLong();
+
+    private SpringBootBomRegistry() {
+    }
+
+    /**
+     * @param bootVersion The version of `spring-boot-dependencies`.
+     * @param ctx         The execution context, which configures where BOMs are resolved from.
+     * @return The versions of the BOM's managed dependencies, keyed by `groupId:artifactId` (with the artifact id in
+     * lowercase).
+     * @throws MavenDownloadingException when the BOM can't be resolved.
+     */
+    public static Map<String, String> managedVersions(String bootVersion, ExecutionContext ctx) throws MavenDownloadingException {
+        String key = bootVersion + "@" + SpringBootBomCache.repositories(ctx).stream()
+                .map(MavenRepository::getUri)
+                .collect(Collectors.joining(","));
+
+        Bom bom = BOMS.get(key);
+        if (bom == null) {
+            Bom resolving = new Bom();
+            bom = BOMS.putIfAbsent(key, resolving);
+            if (bom == null) {
+                bom = resolving;
+                evictLeastRecentlyUsed();
+                try {
+                    resolving.versions.complete(Collections.unmodifiableMap(SpringBootBomCache.managedVersions(bootVersion, ctx)));
+                } catch (MavenDownloadingException | RuntimeException e) {
+                    // the next request resolves the BOM again
+                    BOMS.remove(key, resolving);
+                    resolving.versions.completeExceptionally(e);
+                }
+            }
+        }
+        bom.lastUse = USES.incrementAndGet();
+
+        try {
+            return bom.versions.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MavenDownloadingException) {
+                throw (MavenDownloadingException) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * @return The version of the dependency managed by the BOM, or null if the BOM does not manage it.
+     * @throws MavenDownloadingException when the BOM can't be resolved.
+     */
+    @Nullable
+    public static String managedVersion(String bootVersion, String groupId, String artifactId, ExecutionContext ctx) throws MavenDownloadingException {
+        return managedVersions(bootVersion, ctx).get(groupId + ":" + artifactId.toLowerCase());
+    }
+
+    private static void evictLeastRecentlyUsed() {
+        while (BOMS.size() > MAX_BOMS) {
+            Map.Entry<String, Bom> leastRecentlyUsed = null;
+            for (Map.Entry<String, Bom> bom : BOMS.entrySet()) {
+                if (leastRecentlyUsed == null || bom.getValue().lastUse < leastRecentlyUsed.getValue().lastUse) {
+                    leastRecentlyUsed = bom;
+                }
+            }
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            BOMS.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+        }
+    }
+
+    private static class Bom {
+        private final CompletableFuture<Map<String, String>> versions = new CompletableFuture<>();
+        private volatile long lastUse = USES.incrementAndGet();
+    }
+}
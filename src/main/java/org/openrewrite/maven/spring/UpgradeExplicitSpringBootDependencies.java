@@ -17,7 +17,6 @@
 package org.openrewrite.maven.spring;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.EqualsAndHashCode;
 import org.openrewrite.*;
@@ -26,24 +25,16 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.maven.MavenDownloadingException;
 import org.openrewrite.maven.MavenIsoVisitor;
-import org.openrewrite.maven.UpgradeDependencyVersion;
-import org.openrewrite.maven.internal.MavenPomDownloader;
 import org.openrewrite.maven.tree.*;
 import org.openrewrite.semver.XRange;
 import org.openrewrite.xml.tree.Xml;
 
-import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @EqualsAndHashCode(callSuper = true)
 public class UpgradeExplicitSpringBootDependencies extends Recipe {
 
-    private static final String SPRINGBOOT_GROUP = "org.springframework.boot";
-    private static final String SPRING_BOOT_DEPENDENCIES = "spring-boot-dependencies";
-
-    @JsonIgnore
-    private final Map<String, String> springBootDependenciesMap = new ConcurrentHashMap<>();
+    private static final String SPRINGBOOT_GROUP = SpringBootBomCache.SPRINGBOOT_GROUP;
 
     @Option(displayName = "From Spring Version",
             description = "XRage pattern for spring version used to limit which projects should be updated",
@@ -71,26 +62,6 @@ public class UpgradeExplicitSpringBootDependencies extends Recipe {
         return "Upgrades un-managed spring-boot project dependencies according to the specified spring-boot version.";
     }
 
-    private synchronized void buildDependencyMap() throws MavenDownloadingException {
-        if (springBootDependenciesMap.isEmpty()) {
-            Map<Path, Pom> poms = new HashMap<>();
-            MavenPomDownloader downloader = new MavenPomDownloader(poms, new InMemoryExecutionContext());
-            GroupArtifactVersion gav = new GroupArtifactVersion(SPRINGBOOT_GROUP, SPRING_BOOT_DEPENDENCIES, toVersion);
-            String relativePath = "";
-            List<MavenRepository> repositories = new ArrayList<>();
-            repositories.add(new MavenRepository("repository.spring.milestone", "https://repo.spring.io/milestone", true, true, null, null));
-            repositories.add(new MavenRepository("spring-snapshot", "https://repo.spring.io/snapshot", false, true, null, null));
-            repositories.add(new MavenRepository("spring-release", "https://repo.spring.io/release", true, false, null, null));
-            Pom pom = downloader.download(gav, relativePath, null, repositories);
-            ResolvedPom resolvedPom = pom.resolve(Collections.emptyList(), downloader, repositories, new InMemoryExecutionContext());
-            List<ResolvedManagedDependency> dependencyManagement = resolvedPom.getDependencyManagement();
-            dependencyManagement
-                    .stream()
-                    .filter(d -> d.getVersion() != null)
-                    .forEach(d -> springBootDependenciesMap.put(d.getGroupId() + ":" + d.getArtifactId().toLowerCase(), d.getVersion()));
-        }
-    }
-
     @Override
     protected TreeVisitor<?, ExecutionContext> getApplicableTest() {
         return new MavenIsoVisitor<ExecutionContext>() {
@@ -126,17 +97,54 @@ public class UpgradeExplicitSpringBootDependencies extends Recipe {
         };
     }
 
+    /**
+     * Rewrites every version of a dependency or managed dependency that the target BOM manages in one pass over the POM,
+     * either where it is declared or in the property it refers to, and then resolves the POM once. A property that is
+     * not declared in the POM, such as one inherited from a parent POM of the same project, is upgraded in the POM that
+     * declares it by {@link UpgradeInheritedPropertyVersions}, which runs after this recipe.
+     * <P>
+     * When several dependencies take their version from the same property, the property gets the version that the BOM
+     * manages for the first of them.
+     */
     @Override
     protected TreeVisitor<?, ExecutionContext> getVisitor() {
         return new MavenIsoVisitor<ExecutionContext>() {
+            private Map<String, String> springBootDependenciesMap = Collections.emptyMap();
+
+            /**
+             * The new values of the properties that versions are taken from, as the properties may be declared before
+             * the dependencies that use them.
+             */
+            private final Map<String, String> propertyVersions = new HashMap<>();
+
             @Override
             public Xml.Document visitDocument(Xml.Document document, ExecutionContext executionContext) {
                 try {
-                    buildDependencyMap();
+                    springBootDependenciesMap = SpringBootBomRegistry.managedVersions(toVersion, executionContext);
                 } catch (MavenDownloadingException e) {
                     return e.warn(document);
                 }
-                return super.visitDocument(document, executionContext);
+                propertyVersions.clear();
+
+                Xml.Document d = super.visitDocument(document, executionContext);
+                if (!propertyVersions.isEmpty()) {
+                    Map<String, String> inheritedVersions = new HashMap<>(propertyVersions);
+                    d = (Xml.Document) new UpgradePropertyVersions((property, currentVersion) -> {
+                        inheritedVersions.remove(property);
+                        String newVersion = propertyVersions.get(property);
+                        return newVersion != null && UpgradeInheritedPropertyVersions.isUpgrade(currentVersion, newVersion) ? newVersion : null;
+                    }).visitNonNull(d, executionContext);
+                    if (!inheritedVersions.isEmpty()) {
+                        Recipe upgradeInherited = new UpgradeInheritedPropertyVersions(inheritedVersions);
+                        if (!getRecipeList().contains(upgradeInherited)) {
+                            doNext(upgradeInherited);
+                        }
+                    }
+                }
+                if (d != document) {
+                    maybeUpdateModel();
+                }
+                return d;
             }
 
             @Override
@@ -145,27 +153,37 @@ public class UpgradeExplicitSpringBootDependencies extends Recipe {
                 if (isManagedDependencyTag()) {
                     ResolvedManagedDependency managedDependency = findManagedDependency(resultTag);
                     if (managedDependency != null) {
-                        mayBeUpdateVersion(managedDependency.getGroupId(), managedDependency.getArtifactId(), resultTag);
+                        resultTag = mayBeUpdateVersion(managedDependency.getGroupId(), managedDependency.getArtifactId(), resultTag);
                     }
                 }
                 if (isDependencyTag()) {
                     ResolvedDependency dependency = findDependency(resultTag);
                     if (dependency != null) {
-                        mayBeUpdateVersion(dependency.getGroupId(), dependency.getArtifactId(), resultTag);
+                        resultTag = mayBeUpdateVersion(dependency.getGroupId(), dependency.getArtifactId(), resultTag);
                     }
                 }
                 return resultTag;
             }
 
-            private void mayBeUpdateVersion(String groupId, String artifactId, Xml.Tag tag) {
-                String dependencyVersion = springBootDependenciesMap.get(groupId + ":" + artifactId);
-                if (dependencyVersion != null) {
-                    Optional<Xml.Tag> version = tag.getChild("version");
-                    if (!version.isPresent() || !version.get().getValue().isPresent()) {
-                        return;
-                    }
-                    doNext(new UpgradeDependencyVersion(groupId, artifactId, dependencyVersion, null, null));
+            private Xml.Tag mayBeUpdateVersion(String groupId, String artifactId, Xml.Tag tag) {
+                String dependencyVersion = springBootDependenciesMap.get(groupId + ":" + artifactId.toLowerCase());
+                if (dependencyVersion == null) {
+                    return tag;
+                }
+                Optional<String> version = tag.getChildValue("version");
+                if (!version.isPresent()) {
+                    return tag;
+                }
+
+                String currentVersion = version.get().trim();
+                if (currentVersion.startsWith("${") && currentVersion.endsWith("}")) {
+                    propertyVersions.putIfAbsent(currentVersion.substring(2, currentVersion.length() - 1), dependencyVersion);
+                    return tag;
+                }
+                if (!UpgradeInheritedPropertyVersions.isUpgrade(currentVersion, dependencyVersion)) {
+                    return tag;
                 }
+                return tag.withChildValue("version", dependencyVersion);
             }
         };
     }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.maven.MavenIsoVisitor;
+import org.openrewrite.maven.tree.Version;
+import org.openrewrite.xml.tree.Xml;
+
+import java.util.Map;
+
+/**
+ * Upgrades the properties that dependency versions are taken from in the POMs that declare them, when they are declared
+ * in another POM than the dependencies, like a parent POM. The recipes that upgrade dependency versions run it after
+ * themselves with the properties that they could not find in the POM of the dependencies.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class UpgradeInheritedPropertyVersions extends Recipe {
+    /**
+     * The new version of each property, which it is only changed to when that is an upgrade.
+     */
+    Map<String, String> propertyVersions;
+
+    @Override
+    public String getDisplayName() {
+        return "Upgrade inherited dependency version properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Upgrade the properties that dependency versions are taken from in the POMs that declare them.";
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new MavenIsoVisitor<ExecutionContext>() {
+            @Override
+            public Xml.Document visitDocument(Xml.Document document, ExecutionContext executionContext) {
+                Xml.Document d = (Xml.Document) new UpgradePropertyVersions((property, currentVersion) -> {
+                    String newVersion = propertyVersions.get(property);
+                    return newVersion != null && isUpgrade(currentVersion, newVersion) ? newVersion : null;
+                }).visitNonNull(document, executionContext);
+                if (d != document) {
+                    maybeUpdateModel();
+                }
+                return d;
+            }
+        };
+    }
+
+    public static boolean isUpgrade(String currentVersion, String newVersion) {
+        return new Version(newVersion).compareTo(new Version(currentVersion)) > 0;
+    }
+}
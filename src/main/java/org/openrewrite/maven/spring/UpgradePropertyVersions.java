@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.xml.XPathMatcher;
+import org.openrewrite.xml.XmlIsoVisitor;
+import org.openrewrite.xml.tree.Content;
+import org.openrewrite.xml.tree.Xml;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Changes the values of the properties declared in a POM, for the recipes that upgrade dependency versions which are
+ * taken from properties. The properties a version is taken from are usually only known once the dependencies have been
+ * visited, which is after the properties of the POM, so they are changed by this separate pass over the POM.
+ */
+public class UpgradePropertyVersions extends XmlIsoVisitor<ExecutionContext> {
+    private static final XPathMatcher PROPERTIES = new XPathMatcher("/project/properties");
+
+    private final BiFunction<String, String, String> upgrade;
+
+    /**
+     * @param upgrade Maps the name and the current value of a property to its new value, or to null to leave it unchanged.
+     */
+    public UpgradePropertyVersions(BiFunction<String, String, String> upgrade) {
+        this.upgrade = upgrade;
+    }
+
+    @Override
+    public Xml.Tag visitTag(Xml.Tag tag, ExecutionContext ctx) {
+        Xml.Tag t = super.visitTag(tag, ctx);
+        if (PROPERTIES.matches(getCursor()) && t.getContent() != null) {
+            //noinspection unchecked
+            t = t.withContent(ListUtils.map((List<Content>) t.getContent(), content -> {
+                if (content instanceof Xml.Tag) {
+                    Xml.Tag property = (Xml.Tag) content;
+                    Optional<String> currentValue = property.getValue();
+                    if (currentValue.isPresent()) {
+                        String newValue = upgrade.apply(property.getName(), currentValue.get().trim());
+                        if (newValue != null && !newValue.equals(currentValue.get().trim())) {
+                            return property.withValue(newValue);
+                        }
+                    }
+                }
+                return content;
+            }));
+        }
+        return t;
+    }
+}
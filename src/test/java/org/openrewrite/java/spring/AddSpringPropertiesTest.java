@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+public class AddSpringPropertiesTest implements RewriteTest {
+
+    @Test
+    void addManyProperties() {
+        Map<String, String> added = new LinkedHashMap<>();
+        added.put("server.servlet.path", "/tmp/my-server-path");
+        added.put("server.port", "9090");
+        added.put("fred", "fred");
+        rewriteRun(
+                spec -> spec.recipe(new AddSpringProperties(added, Map.of("fred", "This property was added"), List.of("*"))),
+                properties(
+                        """
+                        server.port=8080
+                        """,
+                        """
+                        server.port=8080
+                        server.servlet.path=/tmp/my-server-path
+                        fred=fred
+                        """
+                ),
+                yaml(
+                        """
+                        server:
+                          port: 8080
+                        """,
+                        """
+                        server:
+                          port: 8080
+                          servlet:
+                            path: /tmp/my-server-path
+                        # This property was added
+                        fred: fred
+                        """
+                )
+        );
+    }
+
+    @Test
+    void propertiesAlreadyExist() {
+        rewriteRun(
+                spec -> spec.recipe(new AddSpringProperties(Map.of("server.port", "9090"), null, List.of("*"))),
+                properties(
+                        """
+                        server.port=8080
+                        """
+                ),
+                yaml(
+                        """
+                        server:
+                          port: 8080
+                        """
+                )
+        );
+    }
+
+    @Test
+    void propertyNestedBeneathValueIsInvalid() {
+        Map<String, String> added = new LinkedHashMap<>();
+        added.put("server.servlet", "/tmp");
+        added.put("server.servlet.path", "/tmp/my-server-path");
+        assertThat(new AddSpringProperties(added, null, null).validate().isValid()).isFalse();
+    }
+}
@@ -149,4 +149,18 @@ public class ChangeSpringPropertyKeyTest implements RewriteTest {
         );
     }
 
+    @Test
+    void globWithinSegment() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKey("management.metrics.binders.file?.enabled", "management.metrics.enable.process.files", null)),
+          properties(
+            """
+                management.metrics.binders.files.enabled=true
+            """,
+            """
+                management.metrics.enable.process.files=true
+            """
+          )
+        );
+    }
 }
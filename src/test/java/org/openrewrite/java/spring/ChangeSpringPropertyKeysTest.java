@@ -0,0 +1,196 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.SourceSpecs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class ChangeSpringPropertyKeysTest implements RewriteTest {
+
+    @Test
+    void changeManyKeys() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(Map.of(
+            "server.servlet-path", "server.servlet.path",
+            "session.cookie.path", "servlet.session.cookie.path"
+          ))),
+          properties(
+            """
+              server.servlet-path=/tmp/my-server-path
+              session.cookie.path=/cookie-monster
+              """,
+            """
+              server.servlet.path=/tmp/my-server-path
+              servlet.session.cookie.path=/cookie-monster
+              """
+          ),
+          yaml(
+            """
+              server:
+                servlet-path: /tmp/my-server-path
+              session:
+                cookie:
+                  path: /tmp/my-server-path
+              """,
+            """
+              server:
+                servlet:
+                  path: /tmp/my-server-path
+              servlet:
+                session:
+                  cookie:
+                    path: /tmp/my-server-path
+              """
+          )
+        );
+    }
+
+    @Test
+    void subproperties() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(Map.of("spring.resources", "spring.web.resources"))),
+          properties(
+            """
+              spring.resources.chain.strategy.content.enabled= true
+              spring.resources.chain.strategy.content.paths= /foo/**, /bar/**
+              """,
+            """
+              spring.web.resources.chain.strategy.content.enabled= true
+              spring.web.resources.chain.strategy.content.paths= /foo/**, /bar/**
+              """
+          ),
+          yaml(
+            """
+              spring:
+                resources:
+                  chain:
+                    strategy:
+                      content:
+                        enabled: true
+                        paths:
+                          - /foo/**
+                          - /bar/**
+              """,
+            """
+              spring:
+                web:
+                  resources:
+                    chain:
+                      strategy:
+                        content:
+                          enabled: true
+                          paths:
+                            - /foo/**
+                            - /bar/**
+              """
+          )
+        );
+    }
+
+    @Test
+    void relaxedBinding() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(Map.of("spring.main.show-banner", "spring.main.banner-mode"))),
+          properties(
+            """
+              spring.main.showBanner=true
+              """,
+            """
+              spring.main.banner-mode=true
+              """
+          )
+        );
+    }
+
+    @Test
+    void newKeyBeneathOldKey() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(Map.of("logging.file", "logging.file.name"))),
+          properties(
+            """
+              logging.file=app.log
+              """,
+            """
+              logging.file.name=app.log
+              """
+          )
+        );
+    }
+
+    @Test
+    void onlyChangedMappingsAreExpanded() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(Map.of("server.servlet-path", "server.servlet.path"))),
+          yaml(
+            """
+              spring:
+                datasource.url: jdbc:h2:mem:test
+              server:
+                servlet-path: /tmp/my-server-path
+                tomcat.max-threads: 200
+              management.endpoints.web.base-path: /admin
+              ---
+              logging.level.root: info
+              """,
+            """
+              spring:
+                datasource.url: jdbc:h2:mem:test
+              server:
+                servlet:
+                  path: /tmp/my-server-path
+                tomcat:
+                  max-threads: 200
+              management.endpoints.web.base-path: /admin
+              ---
+              logging.level.root: info
+              """
+          )
+        );
+    }
+
+    @Test
+    void parallelProcessing() {
+        List<SourceSpecs> sources = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String path = "app" + i;
+            sources.add(yaml(
+              "server:\n  servlet-path: /app" + i + "\n  port: 80" + i + "\n",
+              "server:\n  servlet:\n    path: /app" + i + "\n  port: 80" + i + "\n",
+              spec -> spec.path(path + "/application.yml")
+            ));
+            sources.add(properties(
+              "server.servlet-path=/app" + i + "\nserver.port=80" + i + "\n",
+              "server.servlet.path=/app" + i + "\nserver.port=80" + i + "\n",
+              spec -> spec.path(path + "/application.properties")
+            ));
+        }
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(Map.of("server.servlet-path", "server.servlet.path")))
+            .executionContext(SpringExecutionContextView.view(new InMemoryExecutionContext())
+              .setParallelSourceFileProcessing(true)),
+          sources.toArray(new SourceSpecs[0])
+        );
+    }
+}
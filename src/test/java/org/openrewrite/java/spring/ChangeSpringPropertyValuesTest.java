@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class ChangeSpringPropertyValuesTest implements RewriteTest {
+
+    @Test
+    void changeManyValues() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyValues(List.of(
+            new ChangeSpringPropertyValues.ValueChange("server.error.include-stacktrace", "on-trace-param", "on-param"),
+            new ChangeSpringPropertyValues.ValueChange("spring.jpa.open-in-view", null, "false")
+          ))),
+          properties(
+            """
+              server.error.include-stacktrace=on-trace-param
+              spring.jpa.openInView=true
+              """,
+            """
+              server.error.include-stacktrace=on-param
+              spring.jpa.openInView=false
+              """
+          ),
+          yaml(
+            """
+              server:
+                error.include-stacktrace: on-trace-param
+              spring:
+                jpa:
+                  open-in-view: true
+              """,
+            """
+              server:
+                error.include-stacktrace: on-param
+              spring:
+                jpa:
+                  open-in-view: false
+              """
+          )
+        );
+    }
+
+    @Test
+    void onlyChangeMatchingOldValue() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyValue("server.error.include-stacktrace", "on-trace-param", "on-param")),
+          properties(
+            """
+              server.error.include-stacktrace=always
+              """
+          )
+        );
+    }
+
+    @Test
+    void segmentGlob() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyValue("management.endpoint.*.enabled", "yes", "true")),
+          yaml(
+            """
+              management:
+                endpoint:
+                  health:
+                    enabled: yes
+                  info:
+                    enabled: no
+              """,
+            """
+              management:
+                endpoint:
+                  health:
+                    enabled: true
+                  info:
+                    enabled: no
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigRepositoryMigrationTest {
+
+    @Test
+    void migrateEveryWindow(@TempDir Path repository) throws IOException {
+        write(repository.resolve("orders.yml"), "server:\n  context-path: /orders\n");
+        write(repository.resolve("orders-prod.properties"), "server.context-path=/orders\nserver.port=80\n");
+        write(repository.resolve("billing/billing.yml"), "server.port: 8080\n");
+        write(repository.resolve(".git/config.yml"), "server.context-path: /ignored\n");
+
+        List<Path> changed = new ConfigRepositoryMigration(
+                new ChangeSpringPropertyKey("server.context-path", "server.servlet.context-path", null), 1)
+                .migrate(repository, new InMemoryExecutionContext(Throwable::printStackTrace));
+
+        assertThat(changed).containsExactlyInAnyOrder(Paths.get("orders.yml"), Paths.get("orders-prod.properties"));
+        assertThat(read(repository.resolve("orders.yml"))).isEqualTo("server:\n  servlet:\n    context-path: /orders\n");
+        assertThat(read(repository.resolve("orders-prod.properties"))).isEqualTo("server.servlet.context-path=/orders\nserver.port=80\n");
+        assertThat(read(repository.resolve("billing/billing.yml"))).isEqualTo("server.port: 8080\n");
+        assertThat(read(repository.resolve(".git/config.yml"))).isEqualTo("server.context-path: /ignored\n");
+    }
+
+    @Test
+    void renameAndDelete(@TempDir Path repository) throws IOException {
+        write(repository.resolve("orders.yml"), "server:\n  context-path: /orders\n  port: 80\n");
+        write(repository.resolve("orders-prod.properties"), "server.context-path=/orders\nserver.port=80\n");
+        write(repository.resolve("billing.properties"), "server.address=localhost\n");
+
+        List<Path> changed = ConfigRepositoryMigration.renameAndDelete(
+                        Map.of("server.context-path", "server.servlet.context-path"), List.of("server.port"))
+                .migrate(repository, new InMemoryExecutionContext(Throwable::printStackTrace));
+
+        assertThat(changed).containsExactlyInAnyOrder(Paths.get("orders.yml"), Paths.get("orders-prod.properties"));
+        assertThat(read(repository.resolve("orders.yml"))).isEqualTo("server:\n  servlet:\n    context-path: /orders\n");
+        assertThat(read(repository.resolve("orders-prod.properties"))).isEqualTo("server.servlet.context-path=/orders\n");
+        assertThat(read(repository.resolve("billing.properties"))).isEqualTo("server.address=localhost\n");
+    }
+
+    @Test
+    void keepBytesOfPropertiesFiles(@TempDir Path repository) throws IOException {
+        Path latin1 = repository.resolve("orders.properties");
+        Files.write(latin1, "server.context-path=/caf\u00e9\n".getBytes(StandardCharsets.ISO_8859_1));
+        Path utf8 = repository.resolve("billing.properties");
+        Files.write(utf8, "server.context-path=/caf\u00e9\n".getBytes(StandardCharsets.UTF_8));
+
+        ConfigRepositoryMigration.renameAndDelete(Map.of("server.context-path", "server.servlet.context-path"), List.of())
+                .migrate(repository, new InMemoryExecutionContext(Throwable::printStackTrace));
+
+        assertThat(Files.readAllBytes(latin1))
+                .isEqualTo("server.servlet.context-path=/caf\u00e9\n".getBytes(StandardCharsets.ISO_8859_1));
+        assertThat(Files.readAllBytes(utf8))
+                .isEqualTo("server.servlet.context-path=/caf\u00e9\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void addToEveryConfigurationFile(@TempDir Path repository) throws IOException {
+        write(repository.resolve("orders-prod.yml"), "server:\n  port: 80\n");
+        write(repository.resolve("billing.properties"), "server.port=80\n");
+
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<Path> changed = new ConfigRepositoryMigration(
+                new AddSpringProperty("server.address", "localhost", null, null))
+                .migrate(repository, ctx);
+
+        assertThat(changed).containsExactlyInAnyOrder(Paths.get("orders-prod.yml"), Paths.get("billing.properties"));
+        assertThat(read(repository.resolve("orders-prod.yml"))).isEqualTo("server:\n  port: 80\n  address: localhost\n");
+        assertThat(read(repository.resolve("billing.properties"))).isEqualTo("server.port=80\nserver.address=localhost\n");
+        assertThat(SpringExecutionContextView.view(ctx).getDefaultApplicationConfigurationPaths())
+                .containsExactly("**/application.yml", "**/application.properties", "**/application.yaml");
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
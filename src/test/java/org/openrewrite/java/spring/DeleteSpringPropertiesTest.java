@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+public class DeleteSpringPropertiesTest implements RewriteTest {
+
+    @Test
+    void deleteManyKeys() {
+        rewriteRun(
+                spec -> spec.recipe(new DeleteSpringProperties(List.of("server.servlet-path", "management.endpoint.configprops.*"))),
+                properties(
+                        """
+                        server.servlet-path=/tmp/my-server-path
+                        server.port=8080
+                        management.endpoint.configprops.enabled=true
+                        management.endpoint.health.enabled=true
+                        """,
+                        """
+                        server.port=8080
+                        management.endpoint.health.enabled=true
+                        """
+                ),
+                yaml(
+                        """
+                        server:
+                          servletPath: /tmp/my-server-path
+                          port: 8080
+                        management:
+                          endpoint:
+                            configprops:
+                              enabled: true
+                            health:
+                              enabled: true
+                        """,
+                        """
+                        server:
+                          port: 8080
+                        management:
+                          endpoint:
+                            health:
+                              enabled: true
+                        """
+                )
+        );
+    }
+
+    @Test
+    void collapseEmptiedMappings() {
+        rewriteRun(
+                spec -> spec.recipe(new DeleteSpringProperties(List.of("management.endpoint.configprops.*"))),
+                yaml(
+                        """
+                        management:
+                          endpoint:
+                            configprops:
+                              enabled: true
+                        server:
+                          port: 8080
+                        """,
+                        """
+                        server:
+                          port: 8080
+                        """
+                )
+        );
+    }
+
+    @Test
+    void onlyExactKeyOrGlobIsDeleted() {
+        rewriteRun(
+                spec -> spec.recipe(new DeleteSpringProperties(List.of("server.servlet"))),
+                properties(
+                        """
+                        server.servlet=/tmp/my-server-path
+                        server.servlet.context-path=/context
+                        """,
+                        """
+                        server.servlet.context-path=/context
+                        """
+                )
+        );
+    }
+
+    @Test
+    void remainingEntryKeepsItsComments() {
+        rewriteRun(
+                spec -> spec.recipe(new DeleteSpringProperties(List.of("server.servlet-path", "management.endpoint.configprops.enabled"))),
+                properties(
+                        """
+                        server.servlet-path=/tmp/my-server-path
+                        # the port
+                        server.port=8080
+                        """,
+                        """
+                        # the port
+                        server.port=8080
+                        """
+                ),
+                yaml(
+                        """
+                        server:
+                          servlet-path: /tmp/my-server-path
+                          # the port
+                          port: 8080
+                        management:
+                          endpoint:
+                            configprops:
+                              enabled: true
+                        # the address
+                        address: localhost
+                        """,
+                        """
+                        server:
+                          # the port
+                          port: 8080
+                        # the address
+                        address: localhost
+                        """
+                )
+        );
+    }
+}
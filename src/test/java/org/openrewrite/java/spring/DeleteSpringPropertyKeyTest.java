@@ -112,4 +112,36 @@ public class DeleteSpringPropertyKeyTest implements RewriteTest {
         );
     }
 
+    @Test
+    void subpropertiesAreKept() {
+        rewriteRun(
+                spec -> spec.recipe(new DeleteSpringProperty("server.servlet")),
+                properties(
+                        """
+                        server.servlet=/tmp/my-server-path
+                        server.servlet.context-path=/context
+                        """,
+                        """
+                        server.servlet.context-path=/context
+                        """
+                )
+        );
+    }
+
+    @Test
+    void yamlKeyInEnvironmentVariableForm() {
+        rewriteRun(
+                spec -> spec.recipe(new DeleteSpringProperty("my.prop")),
+                yaml(
+                        """
+                            MY_PROP: kept
+                            my:
+                              prop: deleted
+                        """,
+                        """
+                            MY_PROP: kept
+                        """
+                )
+        );
+    }
 }
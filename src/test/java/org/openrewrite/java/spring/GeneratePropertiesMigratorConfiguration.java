@@ -116,18 +116,18 @@ public class GeneratePropertiesMigratorConfiguration {
                                     displayName: Migrate Spring Boot properties to %s.%s.%s
                                     description: Migrate properties found in `application.properties` and `application.yml`.
                                     recipeList:
+                                      - org.openrewrite.java.spring.ChangeSpringPropertyKeys:
+                                          propertyKeys:
                                     """.formatted(majorMinor[0], majorMinor[1], majorMinor[2], majorMinor[0], majorMinor[1], majorMinor[2]).getBytes(),
                             StandardOpenOption.APPEND);
 
                     Files.write(config, replacements.stream()
                                     .map(r -> """
-                                              - org.openrewrite.java.spring.ChangeSpringPropertyKey:
-                                                oldPropertyKey: %s
-                                                newPropertyKey: %s
+                                                    %s: %s
                                             """.formatted(
                                             r.name(), requireNonNull(r.deprecation()).replacement())
                                     )
-                                    .collect(joining("", "\n", "\n"))
+                                    .collect(joining("", "", "\n"))
                                     .getBytes(),
                             StandardOpenOption.APPEND);
                 }
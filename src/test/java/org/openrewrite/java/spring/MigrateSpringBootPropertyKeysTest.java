@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.config.Environment;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.SourceSpecs;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+class MigrateSpringBootPropertyKeysTest implements RewriteTest {
+
+    @Test
+    void migrateAcrossVersions() {
+        rewriteRun(
+          spec -> spec.recipe(new MigrateSpringBootPropertyKeys("2.0", "2.7")),
+          configuration()
+        );
+    }
+
+    @Test
+    void upgradeChain() {
+        rewriteRun(
+          spec -> spec.recipe(Environment.builder()
+            .scanRuntimeClasspath()
+            .build()
+            .activateRecipes("org.openrewrite.java.spring.boot2.UpgradeSpringBoot_2_7")),
+          configuration()
+        );
+    }
+
+    @Test
+    void onlyLaterVersions() {
+        rewriteRun(
+          spec -> spec.recipe(new MigrateSpringBootPropertyKeys("2.4", "2.7")),
+          properties(
+            """
+              spring.resources.chain.compressed=true
+              spring.profiles=dev
+              """,
+            """
+              spring.web.resources.chain.compressed=true
+              spring.profiles=dev
+              """,
+            s -> s.path("src/main/resources/application.properties")
+          )
+        );
+    }
+
+    /**
+     * `spring.resources.chain.gzipped` was renamed in 2.1 and again in 2.6, `logging.pattern.rolling-file-name` in 2.4,
+     * and `spring.profiles` in 2.4 except for some of its children.
+     */
+    private static SourceSpecs[] configuration() {
+        return new SourceSpecs[]{
+          properties(
+            """
+              spring.resources.chain.gzipped=true
+              logging.pattern.rolling-file-name=app-%d.log
+              spring.profiles=dev
+              spring.profiles.active=production
+              """,
+            """
+              spring.web.resources.chain.compressed=true
+              logging.logback.rollingpolicy.file-name-pattern=app-%d.log
+              spring.config.activate.on-profile=dev
+              spring.profiles.active=production
+              """,
+            s -> s.path("src/main/resources/application.properties")
+          ),
+          yaml(
+            """
+              ---
+              spring:
+                profiles:
+                  active: dev
+              ---
+              spring:
+                profiles: prod
+              """,
+            """
+              ---
+              spring:
+                profiles:
+                  active: dev
+              ---
+              spring:
+                config:
+                  activate:
+                    on-profile: prod
+              """,
+            s -> s.path("src/main/resources/application.yml")
+          )
+        };
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringPropertyIndexTest {
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void yamlKeysAreFlattened() {
+        Yaml.Documents yaml = new YamlParser().parse(
+                "spring:\n" +
+                "  flyway.url: jdbc:h2:mem:test\n" +
+                "  datasource:\n" +
+                "    userName: sa\n"
+        ).get(0);
+
+        SpringPropertyIndex<Yaml.Mapping.Entry> index = SpringPropertyIndex.yaml(yaml, ctx);
+        assertThat(index.find("spring.flyway.url")).hasSize(1);
+        assertThat(index.find("spring.datasource.user-name"))
+                .singleElement()
+                .extracting(e -> ((Yaml.Scalar) e.getValue()).getValue())
+                .isEqualTo("sa");
+        assertThat(index.contains("spring.flyway.password")).isFalse();
+        assertThat(SpringPropertyIndex.yaml(yaml, ctx)).isSameAs(index);
+    }
+
+    @Test
+    void changedTreeIsIndexedAgain() {
+        Properties.File properties = new PropertiesParser().parse("spring.flyway.url=jdbc:h2:mem:test").get(0);
+        SpringPropertyIndex<Properties.Entry> index = SpringPropertyIndex.properties(properties, ctx);
+        assertThat(index.contains("spring.flyway.url")).isTrue();
+
+        Properties.File changed = properties.withContent(emptyList());
+        assertThat(SpringPropertyIndex.properties(changed, ctx).contains("spring.flyway.url")).isFalse();
+    }
+}
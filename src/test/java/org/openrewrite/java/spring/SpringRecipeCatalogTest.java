@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringRecipeCatalogTest {
+
+    @Test
+    void activateRecipeFromIndex() {
+        assertThat(SpringRecipeCatalog.index()).containsKey("org.openrewrite.java.spring.boot2.SpringBootProperties_2_4");
+
+        Recipe recipe = SpringRecipeCatalog.activateRecipes("org.openrewrite.java.spring.boot2.SpringBootProperties_2_4");
+        List<Recipe> recipes = new ArrayList<>();
+        flatten(recipe, recipes);
+        assertThat(recipes)
+                .anyMatch(r -> r.getName().equals("org.openrewrite.java.spring.boot2.SpringBootProperties_2_4"))
+                .anyMatch(r -> r instanceof ChangeSpringPropertyKeys &&
+                               "logging.logback.rollingpolicy.max-file-size".equals(((ChangeSpringPropertyKeys) r).getPropertyKeys().get("logging.file.max-size")));
+    }
+
+    @Test
+    void loadOnlyReachableRecipes() {
+        Map<String, SpringRecipeCatalog.IndexedRecipe> index = Map.of(
+                "a", new SpringRecipeCatalog.IndexedRecipe("a.yml", 0, 10, List.of("b", ChangeSpringPropertyKey.class.getName())),
+                "b", new SpringRecipeCatalog.IndexedRecipe("b.yml", 0, 10, List.of()),
+                "c", new SpringRecipeCatalog.IndexedRecipe("a.yml", 10, 20, List.of("b")));
+
+        assertThat(SpringRecipeCatalog.reachable(index, "a")).containsOnlyKeys("a.yml", "b.yml");
+        assertThat(SpringRecipeCatalog.reachable(index, "a").get("a.yml")).containsExactly(index.get("a"));
+    }
+
+    @Test
+    void recipeOfAnotherLibraryIsNotReachable() {
+        Map<String, SpringRecipeCatalog.IndexedRecipe> index = Map.of(
+                "a", new SpringRecipeCatalog.IndexedRecipe("a.yml", 0, 10, List.of("org.openrewrite.java.migrate.UpgradeToJava17")));
+
+        assertThat(SpringRecipeCatalog.reachable(index, "a")).isNull();
+    }
+
+    private static void flatten(Recipe recipe, List<Recipe> recipes) {
+        recipes.add(recipe);
+        for (Recipe next : recipe.getRecipeList()) {
+            flatten(next, recipes);
+        }
+    }
+}
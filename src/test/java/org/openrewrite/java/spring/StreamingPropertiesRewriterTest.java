@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.properties.Assertions.properties;
+
+class StreamingPropertiesRewriterTest implements RewriteTest {
+    private final StreamingPropertiesRewriter rewriter = new StreamingPropertiesRewriter(
+            Map.of("server.servlet-path", "server.servlet.path", "spring.resources", "spring.web.resources"),
+            List.of("management.endpoint.configprops.*"));
+
+    @Test
+    void renameWithEachSeparator() {
+        assertThat(rewriter.rewrite("server.servlet-path=/a\nserver.servletPath: /b\nserver.servlet-path /c\n"))
+                .isEqualTo("server.servlet.path=/a\nserver.servlet.path: /b\nserver.servlet.path /c\n");
+    }
+
+    @Test
+    void renameSubproperties() {
+        assertThat(rewriter.rewrite("spring.resources.chain.enabled=true\r\nspring.main.banner-mode=off\r\n"))
+                .isEqualTo("spring.web.resources.chain.enabled=true\r\nspring.main.banner-mode=off\r\n");
+    }
+
+    @Test
+    void continuationLinesAndComments() {
+        assertThat(rewriter.rewrite("# server.servlet-path=/commented\n! spring.resources.x=y\nspring.resources.paths=/foo/**, \\\n    /bar/**\n"))
+                .isEqualTo("# server.servlet-path=/commented\n! spring.resources.x=y\nspring.web.resources.paths=/foo/**, \\\n    /bar/**\n");
+    }
+
+    @Test
+    void deleteTakesBlankLinesBeforeIt() {
+        assertThat(rewriter.rewrite("server.port=8080\n\nmanagement.endpoint.configprops.enabled=true\nserver.address=localhost\n"))
+                .isEqualTo("server.port=8080\nserver.address=localhost\n");
+    }
+
+    @Test
+    void deleteFirstLine() {
+        assertThat(rewriter.rewrite("management.endpoint.configprops.enabled=true\nserver.port=8080"))
+                .isEqualTo("server.port=8080");
+    }
+
+    @Test
+    void deleteContinuedLine() {
+        assertThat(rewriter.rewrite("management.endpoint.configprops.keys=a,\\\n  b\nserver.port=8080\n"))
+                .isEqualTo("server.port=8080\n");
+    }
+
+    @Test
+    void deleteRenamedKey() {
+        StreamingPropertiesRewriter rewriter = new StreamingPropertiesRewriter(
+                Map.of("spring.resources", "spring.web.resources"), List.of("spring.web.resources.cache.*"));
+        assertThat(rewriter.rewrite("spring.resources.cache.period=1h\nspring.resources.chain.enabled=true\n"))
+                .isEqualTo("spring.web.resources.chain.enabled=true\n");
+    }
+
+    @Test
+    void sameOutputAsRecipes() {
+        Map<String, String> renames = Map.of("server.servlet-path", "server.servlet.path", "spring.resources", "spring.web.resources");
+        List<String> deletions = List.of("management.endpoint.configprops.*", "spring.web.resources.cache.*");
+        String properties = "management.endpoint.configprops.enabled=true\n" +
+                            "# the servlet path\n" +
+                            "server.servletPath=/a\n" +
+                            "\n" +
+                            "spring.resources.cache.period=1h\n" +
+                            "spring.resources.chain.enabled=true\n" +
+                            "server.port=8080\n";
+
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(renames).doNext(new DeleteSpringProperties(deletions))),
+          properties(properties, new StreamingPropertiesRewriter(renames, deletions).rewrite(properties))
+        );
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.framework;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.maven.Assertions.pomXml;
+
+class UpgradeSpringFrameworkDependenciesTest implements RewriteTest {
+
+    @Test
+    void upgradeExplicitAndPropertyVersions() {
+        rewriteRun(
+          spec -> spec.recipe(new UpgradeSpringFrameworkDependencies("5.2.X"))
+            .expectedCyclesThatMakeChanges(1),
+          pomXml(
+            //language=xml
+            """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>framework-app</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <properties>
+                        <spring.group>org.springframework</spring.group>
+                        <spring.version>5.1.20.RELEASE</spring.version>
+                    </properties>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-core</artifactId>
+                            <version>5.1.20.RELEASE</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-web</artifactId>
+                            <version>${spring.version}</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>${spring.group}</groupId>
+                            <artifactId>spring-context</artifactId>
+                            <version>5.1.20.RELEASE</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework.data</groupId>
+                            <artifactId>spring-data-commons</artifactId>
+                            <version>2.1.20.RELEASE</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """,
+            """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>framework-app</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <properties>
+                        <spring.group>org.springframework</spring.group>
+                        <spring.version>5.2.25.RELEASE</spring.version>
+                    </properties>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-core</artifactId>
+                            <version>5.2.25.RELEASE</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-web</artifactId>
+                            <version>${spring.version}</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>${spring.group}</groupId>
+                            <artifactId>spring-context</artifactId>
+                            <version>5.2.25.RELEASE</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework.data</groupId>
+                            <artifactId>spring-data-commons</artifactId>
+                            <version>2.1.20.RELEASE</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """
+          )
+        );
+    }
+
+    @Test
+    void upgradePropertyDeclaredInParent() {
+        rewriteRun(
+          spec -> spec.recipe(new UpgradeSpringFrameworkDependencies("5.2.X"))
+            .expectedCyclesThatMakeChanges(1),
+          pomXml(
+            //language=xml
+            """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>framework-parent</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <packaging>pom</packaging>
+                    <modules>
+                        <module>child</module>
+                    </modules>
+                    <properties>
+                        <spring.version>5.1.20.RELEASE</spring.version>
+                    </properties>
+                </project>
+                """,
+            """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>framework-parent</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <packaging>pom</packaging>
+                    <modules>
+                        <module>child</module>
+                    </modules>
+                    <properties>
+                        <spring.version>5.2.25.RELEASE</spring.version>
+                    </properties>
+                </project>
+                """
+          ),
+          pomXml(
+            //language=xml
+            """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>com.example</groupId>
+                        <artifactId>framework-parent</artifactId>
+                        <version>0.0.1-SNAPSHOT</version>
+                    </parent>
+                    <artifactId>framework-app</artifactId>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-web</artifactId>
+                            <version>${spring.version}</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """,
+            spec -> spec.path("child/pom.xml")
+          )
+        );
+    }
+
+    @Test
+    void noUpgradeWithinSelectedVersions() {
+        rewriteRun(
+          spec -> spec.recipe(new UpgradeSpringFrameworkDependencies("5.1.X")),
+          pomXml(
+            //language=xml
+            """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>framework-app</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <properties>
+                        <spring.group>org.springframework</spring.group>
+                        <spring.version>5.1.20.RELEASE</spring.version>
+                    </properties>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-core</artifactId>
+                            <version>5.1.20.RELEASE</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-web</artifactId>
+                            <version>${spring.version}</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>${spring.group}</groupId>
+                            <artifactId>spring-context</artifactId>
+                            <version>5.1.20.RELEASE</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework.data</groupId>
+                            <artifactId>spring-data-commons</artifactId>
+                            <version>2.1.20.RELEASE</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """
+          )
+        );
+    }
+}
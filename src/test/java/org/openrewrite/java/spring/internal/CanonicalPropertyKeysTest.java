@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CanonicalPropertyKeysTest {
+
+    @Test
+    void relaxedVariantsShareCanonicalForm() {
+        assertThat(CanonicalPropertyKeys.canonicalKey("spring.main.showBanner")).isEqualTo("spring.main.showbanner");
+        assertThat(CanonicalPropertyKeys.canonicalKey("spring.main.show-banner")).isEqualTo("spring.main.showbanner");
+        assertThat(CanonicalPropertyKeys.canonicalKey("spring.main.show_banner")).isEqualTo("spring.main.showbanner");
+    }
+
+    @Test
+    void environmentVariable() {
+        assertThat(CanonicalPropertyKeys.matches("SPRING_MAIN_SHOWBANNER", "spring.main.show-banner")).isTrue();
+        assertThat(CanonicalPropertyKeys.matches("SPRING_MAIN_SHOWBANNER", "spring.main-show-banner")).isFalse();
+    }
+
+    @Test
+    void kebabCase() {
+        assertThat(CanonicalPropertyKeys.kebabCase("spring.main.showBanner")).isEqualTo("spring.main.show-banner");
+    }
+
+    @Test
+    void environmentVariableFormOnlyInEnvironmentSources() {
+        assertThat(CanonicalPropertyKeys.canonicalEnvironmentKey("MY_PROP")).isEqualTo("my.prop");
+        assertThat(CanonicalPropertyKeys.canonicalKey("MY_PROP")).isEqualTo("myprop");
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceCacheTest {
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void computedOncePerInstance() {
+        UUID id = UUID.randomUUID();
+        String instance = new String("a");
+        AtomicInteger computations = new AtomicInteger();
+
+        IntStream.range(0, 100).parallel().forEach(i ->
+                InstanceCache.get(ctx, "test", id, instance, s -> computations.incrementAndGet()));
+        assertThat(computations).hasValue(1);
+
+        String changed = new String("a");
+        assertThat(InstanceCache.get(ctx, "test", id, changed, s -> computations.incrementAndGet())).isEqualTo(2);
+    }
+
+    @Test
+    void bounded() {
+        List<String> instances = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String instance = "instance" + i;
+            instances.add(instance);
+            InstanceCache.get(ctx, "test", UUID.randomUUID(), instance, String::length);
+        }
+        InstanceCache<?, ?> cache = InstanceCache.find(ctx, "test");
+        assertThat(cache).isNotNull();
+        assertThat(cache.size()).isLessThanOrEqualTo(4_096);
+        assertThat(instances).hasSize(10_000);
+    }
+
+    @Test
+    void clear() {
+        InstanceCache.get(ctx, "test", UUID.randomUUID(), "a", String::length);
+        InstanceCache.clear(ctx);
+        assertThat(InstanceCache.find(ctx, "test")).isNull();
+    }
+}
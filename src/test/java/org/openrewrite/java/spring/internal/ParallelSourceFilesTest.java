@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelSourceFilesTest {
+    private final ExecutionContext ctx = SpringExecutionContextView.view(new InMemoryExecutionContext())
+            .setParallelSourceFileProcessing(true);
+
+    private final List<String> before = IntStream.range(0, 100).mapToObj(Integer::toString).collect(Collectors.toList());
+
+    @Test
+    void keepsOrder() {
+        List<String> after = ParallelSourceFiles.map(before, ctx, s -> Integer.parseInt(s) % 3 == 0 ? null : s + "!");
+        assertThat(after).isEqualTo(before.stream()
+                .filter(s -> Integer.parseInt(s) % 3 != 0)
+                .map(s -> s + "!")
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void unchanged() {
+        assertThat(ParallelSourceFiles.map(before, ctx, s -> s)).isSameAs(before);
+    }
+
+    @Test
+    void flatMapKeepsOrder() {
+        List<String> after = ParallelSourceFiles.flatMap(before.subList(0, 3), ctx, s -> Arrays.asList(s, s + "-profile"));
+        assertThat(after).containsExactly("0", "0-profile", "1", "1-profile", "2", "2-profile");
+    }
+
+    @Test
+    void sequentialByDefault() {
+        List<String> threads = ParallelSourceFiles.map(before, new InMemoryExecutionContext(), s -> Thread.currentThread().getName());
+        assertThat(threads).containsOnly(Thread.currentThread().getName());
+    }
+}
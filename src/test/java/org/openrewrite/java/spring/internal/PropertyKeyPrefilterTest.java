@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyKeyPrefilterTest {
+    private final PropertyKeyPrefilter prefilter = new PropertyKeyPrefilter(List.of(
+            "server.servlet-path",
+            "spring.main.show-banner"
+    ));
+
+    @Test
+    void keySpreadOverYamlMappings() {
+        assertThat(prefilter.mayContain("server:\n  port: 8080\n  servlet-path: /tmp\n")).isTrue();
+    }
+
+    @Test
+    void relaxedBinding() {
+        assertThat(prefilter.mayContain("spring.main.showBanner=true")).isTrue();
+        assertThat(prefilter.mayContain("SPRING_MAIN_SHOW_BANNER=true")).isTrue();
+    }
+
+    @Test
+    void someSegmentsMissing() {
+        assertThat(prefilter.mayContain("server:\n  port: 8080\nspring:\n  main:\n    lazy-initialization: true\n")).isFalse();
+    }
+
+    @Test
+    void keysOfFile() {
+        assertThat(prefilter.mayContain(List.of("server", "server.port", "server.servletpath"))).isTrue();
+        assertThat(prefilter.mayContain(List.of("server", "server.port", "spring.main.lazyinitialization"))).isFalse();
+    }
+
+    @Test
+    void builtOnce() {
+        AtomicInteger builds = new AtomicInteger();
+        Supplier<PropertyKeyPrefilter> lazy = PropertyKeyPrefilter.lazy(() -> {
+            builds.incrementAndGet();
+            return List.of("server.port");
+        });
+        assertThat(lazy.get()).isSameAs(lazy.get());
+        assertThat(builds).hasValue(1);
+    }
+
+    @Test
+    void wildcardOnlyKeyMatchesAnything() {
+        assertThat(new PropertyKeyPrefilter(List.of("*")).mayContain("server.port=8080")).isTrue();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourcePathMatcherTest {
+
+    @Test
+    void doubleStarMatchesRootDirectory() {
+        SourcePathMatcher matcher = SourcePathMatcher.of(Collections.singletonList("**/application.yml"));
+        assertThat(matcher.matches(Paths.get("application.yml"))).isTrue();
+        assertThat(matcher.matches(Paths.get("src/main/resources/application.yml"))).isTrue();
+        assertThat(matcher.matches(Paths.get("src/main/resources/bootstrap.yml"))).isFalse();
+    }
+
+    @Test
+    void anyExpression() {
+        SourcePathMatcher matcher = SourcePathMatcher.of(Arrays.asList("config/*.properties", "**/application*.{yml,yaml}"));
+        assertThat(matcher.matches(Paths.get("config/../config/application.properties"))).isTrue();
+        assertThat(matcher.matches(Paths.get("src/main/resources/application-test.yaml"))).isTrue();
+        assertThat(matcher.matches(Paths.get("src/main/resources/application.properties"))).isFalse();
+    }
+
+    @Test
+    void compiledOnce() {
+        assertThat(SourcePathMatcher.of(Collections.singletonList("**/application.yml")))
+                .isSameAs(SourcePathMatcher.of(Collections.singletonList("**/application.yml")));
+    }
+
+    @Test
+    void noExpressionsMatchEverything() {
+        assertThat(SourcePathMatcher.of(Collections.emptyList()).matches(Paths.get("pom.xml"))).isTrue();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.java.spring.ChangeSpringPropertyKey;
+import org.openrewrite.java.spring.ChangeSpringPropertyKeys;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringBootPropertyMigrationsTest {
+
+    @Test
+    void composeChainedRenames() {
+        assertThat(SpringBootPropertyMigrations.compose(List.of(
+                Map.of("a", "b"),
+                Map.of("b", "c")
+        ))).containsOnly(Map.entry("a", "c"), Map.entry("b", "c"));
+    }
+
+    @Test
+    void composeRenameBeneathEarlierNewKey() {
+        assertThat(SpringBootPropertyMigrations.compose(List.of(
+                Map.of("a", "b"),
+                Map.of("b.x", "c")
+        ))).containsOnly(Map.entry("a", "b"), Map.entry("a.x", "c"), Map.entry("b.x", "c"));
+    }
+
+    @Test
+    void composeRenamedBack() {
+        assertThat(SpringBootPropertyMigrations.compose(List.of(
+                Map.of("a", "b"),
+                Map.of("b", "a")
+        ))).containsOnly(Map.entry("b", "a"));
+    }
+
+    @Test
+    void planBetweenVersions() {
+        assertThat(propertyKeys(SpringBootPropertyMigrations.plan(null, "3.0")))
+                .containsEntry("banner.charset", "spring.banner.charset")
+                .containsEntry("spring.data.cassandra.compression", "spring.cassandra.compression");
+        assertThat(propertyKeys(SpringBootPropertyMigrations.plan("2.0", "2.7")))
+                .doesNotContainKey("banner.charset");
+    }
+
+    @Test
+    void planRenameWithExceptions() {
+        assertThat(SpringBootPropertyMigrations.plan("2.0", "2.7"))
+                .map(SpringBootPropertyMigrationsTest::describe)
+                .contains("spring.profiles -> spring.config.activate.on-profile except [active, default, group, include]");
+        assertThat(SpringBootPropertyMigrations.plan("2.4", "2.7"))
+                .noneMatch(ChangeSpringPropertyKey.class::isInstance);
+    }
+
+    @Test
+    void laterRenamesStayAfterRenameWithExceptions() {
+        List<Recipe> plan = SpringBootPropertyMigrations.plan(List.of(
+                step(new int[]{1}, rename("a", "b"), rename("p", "q", "x")),
+                step(new int[]{2}, rename("b", "c"), rename("q", "r"), rename("p.y", "s"))
+        ));
+        assertThat(plan).map(SpringBootPropertyMigrationsTest::describe).containsExactly(
+                "{a=c, b=c}",
+                "p -> q except [x]",
+                "{p.y=s, q=r}"
+        );
+    }
+
+    @Test
+    void tableMatchesRecipeCatalog() {
+        Environment env = Environment.builder().scanRuntimeClasspath().build();
+        assertThat(SpringBootPropertyMigrations.steps()).isNotEmpty();
+        for (SpringBootPropertyMigrations.Step step : SpringBootPropertyMigrations.steps()) {
+            String version = Arrays.stream(step.getVersion()).mapToObj(Integer::toString).collect(Collectors.joining("_"));
+            Recipe recipe = env.activateRecipes("org.openrewrite.java.spring.boot" + step.getVersion()[0] +
+                                                ".SpringBootProperties_" + version);
+            List<SpringBootPropertyMigrations.Rename> renames = new ArrayList<>();
+            collectRenames(recipe, renames);
+            assertThat(step.getRenames()).as(version).containsExactlyElementsOf(renames);
+        }
+    }
+
+    private static SpringBootPropertyMigrations.Step step(int[] version, SpringBootPropertyMigrations.Rename... renames) {
+        return new SpringBootPropertyMigrations.Step(version, List.of(renames));
+    }
+
+    private static SpringBootPropertyMigrations.Rename rename(String oldKey, String newKey, String... except) {
+        return new SpringBootPropertyMigrations.Rename(oldKey, newKey, List.of(except));
+    }
+
+    private static String describe(Recipe recipe) {
+        if (recipe instanceof ChangeSpringPropertyKey) {
+            ChangeSpringPropertyKey rename = (ChangeSpringPropertyKey) recipe;
+            return rename.getOldPropertyKey() + " -> " + rename.getNewPropertyKey() + " except " + rename.getExcept();
+        }
+        return new TreeMap<>(((ChangeSpringPropertyKeys) recipe).getPropertyKeys()).toString();
+    }
+
+    private static Map<String, String> propertyKeys(List<Recipe> plan) {
+        Map<String, String> propertyKeys = new LinkedHashMap<>();
+        for (Recipe recipe : plan) {
+            if (recipe instanceof ChangeSpringPropertyKeys) {
+                propertyKeys.putAll(((ChangeSpringPropertyKeys) recipe).getPropertyKeys());
+            }
+        }
+        return propertyKeys;
+    }
+
+    private static void collectRenames(Recipe recipe, List<SpringBootPropertyMigrations.Rename> renames) {
+        if (recipe instanceof ChangeSpringPropertyKeys) {
+            ((ChangeSpringPropertyKeys) recipe).getPropertyKeys().forEach((oldKey, newKey) ->
+                    renames.add(new SpringBootPropertyMigrations.Rename(oldKey, newKey, Collections.emptyList())));
+        } else if (recipe instanceof ChangeSpringPropertyKey) {
+            ChangeSpringPropertyKey rename = (ChangeSpringPropertyKey) recipe;
+            renames.add(new SpringBootPropertyMigrations.Rename(rename.getOldPropertyKey(), rename.getNewPropertyKey(),
+                    rename.getExcept() == null ? Collections.emptyList() : rename.getExcept()));
+        }
+        for (Recipe next : recipe.getRecipeList()) {
+            collectRenames(next, renames);
+        }
+    }
+}
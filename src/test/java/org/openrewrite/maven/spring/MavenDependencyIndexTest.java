@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.spring.internal.InstanceCache;
+import org.openrewrite.maven.MavenParser;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.Scope;
+import org.openrewrite.semver.Semver;
+import org.openrewrite.xml.tree.Xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MavenDependencyIndexTest {
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void dependenciesAreIndexedByScope() {
+        Xml.Document pom = MavenParser.builder().build().parse(ctx,
+                "<project>\n" +
+                "    <groupId>com.example</groupId>\n" +
+                "    <artifactId>acme</artifactId>\n" +
+                "    <version>0.0.1-SNAPSHOT</version>\n" +
+                "    <dependencies>\n" +
+                "        <dependency>\n" +
+                "            <groupId>org.springframework.boot</groupId>\n" +
+                "            <artifactId>spring-boot</artifactId>\n" +
+                "            <version>2.4.13</version>\n" +
+                "        </dependency>\n" +
+                "        <dependency>\n" +
+                "            <groupId>junit</groupId>\n" +
+                "            <artifactId>junit</artifactId>\n" +
+                "            <version>4.13.2</version>\n" +
+                "            <scope>test</scope>\n" +
+                "        </dependency>\n" +
+                "    </dependencies>\n" +
+                "</project>\n"
+        ).get(0);
+        MavenResolutionResult model = pom.getMarkers().findFirst(MavenResolutionResult.class).orElseThrow(IllegalStateException::new);
+
+        MavenDependencyIndex index = MavenDependencyIndex.of(model, ctx);
+        assertThat(index.versions(Scope.Compile, "org.springframework.boot", "spring-boot")).containsExactly("2.4.13");
+        assertThat(index.contains(Scope.Compile, "org.springframework.boot", "spring-boot",
+                Semver.validate("2.4.X", null).getValue())).isTrue();
+        assertThat(index.contains(Scope.Compile, "org.springframework.boot", "spring-boot",
+                Semver.validate("2.5.X", null).getValue())).isFalse();
+        assertThat(index.contains(Scope.Compile, "junit", "junit")).isFalse();
+        assertThat(index.contains(Scope.Test, "junit", "junit")).isTrue();
+
+        // transitive dependencies are indexed as well
+        assertThat(index.contains(Scope.Compile, "org.springframework", "spring-core")).isTrue();
+
+        assertThat(MavenDependencyIndex.of(model, ctx)).isSameAs(index);
+        InstanceCache.clear(ctx);
+        assertThat(MavenDependencyIndex.of(model, ctx)).isNotSameAs(index);
+    }
+}
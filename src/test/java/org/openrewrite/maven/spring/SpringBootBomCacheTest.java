@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.maven.MavenDownloadingException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringBootBomCacheTest {
+
+    @Test
+    void readPreSeededCacheOffline(@TempDir Path cache, @TempDir Path localRepository) throws IOException, MavenDownloadingException {
+        ExecutionContext ctx = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setBomCacheDirectory(cache)
+                .setOfflineBomRepository(localRepository);
+
+        Path cacheFile = SpringBootBomCache.cacheFile("3.0.0", SpringBootBomCache.repositories(ctx), ctx);
+        Files.write(cacheFile, ("org.springframework.boot:spring-boot-starter-web\t3.0.0\n" +
+                                "io.dropwizard.metrics:metrics-annotation\t4.2.13\n").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(SpringBootBomCache.managedVersions("3.0.0", ctx))
+                .containsEntry("org.springframework.boot:spring-boot-starter-web", "3.0.0")
+                .containsEntry("io.dropwizard.metrics:metrics-annotation", "4.2.13")
+                .hasSize(2);
+    }
+
+    @Test
+    void snapshotCacheExpires(@TempDir Path cache) throws IOException {
+        ExecutionContext ctx = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setBomCacheDirectory(cache);
+
+        Path snapshot = SpringBootBomCache.cacheFile("3.1.0-SNAPSHOT", SpringBootBomCache.repositories(ctx), ctx);
+        Path release = SpringBootBomCache.cacheFile("3.0.0", SpringBootBomCache.repositories(ctx), ctx);
+        for (Path cacheFile : Arrays.asList(snapshot, release)) {
+            Files.write(cacheFile, "org.springframework.boot:spring-boot-starter-web\t3.0.0\n".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(SpringBootBomCache.read(snapshot, "3.1.0-SNAPSHOT")).hasSize(1);
+
+        FileTime twoDaysAgo = FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS));
+        Files.setLastModifiedTime(snapshot, twoDaysAgo);
+        Files.setLastModifiedTime(release, twoDaysAgo);
+        assertThat(SpringBootBomCache.read(snapshot, "3.1.0-SNAPSHOT")).isNull();
+        assertThat(SpringBootBomCache.read(release, "3.0.0")).hasSize(1);
+    }
+
+    @Test
+    void cacheIsKeyedByRepositories(@TempDir Path cache, @TempDir Path localRepository) {
+        ExecutionContext online = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setBomCacheDirectory(cache);
+        ExecutionContext offline = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setBomCacheDirectory(cache)
+                .setOfflineBomRepository(localRepository);
+
+        assertThat(SpringBootBomCache.cacheFile("3.0.0", SpringBootBomCache.repositories(online), online))
+                .isNotEqualTo(SpringBootBomCache.cacheFile("3.0.0", SpringBootBomCache.repositories(offline), offline));
+    }
+}
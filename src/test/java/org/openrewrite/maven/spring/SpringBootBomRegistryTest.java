@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.maven.MavenDownloadingException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringBootBomRegistryTest {
+
+    @Test
+    void resolveOncePerJvm(@TempDir Path cache, @TempDir Path localRepository) throws IOException, MavenDownloadingException {
+        ExecutionContext ctx = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setBomCacheDirectory(cache)
+                .setOfflineBomRepository(localRepository);
+        Path cacheFile = SpringBootBomCache.cacheFile("3.0.0", SpringBootBomCache.repositories(ctx), ctx);
+        Files.write(cacheFile, "org.springframework.boot:spring-boot-starter-web\t3.0.0\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(SpringBootBomRegistry.managedVersion("3.0.0", "org.springframework.boot", "spring-boot-starter-web", ctx))
+                .isEqualTo("3.0.0");
+
+        // once resolved, the BOM is no longer read from the cache
+        Files.delete(cacheFile);
+        assertThat(SpringBootBomRegistry.managedVersions("3.0.0", ctx))
+                .containsEntry("org.springframework.boot:spring-boot-starter-web", "3.0.0");
+    }
+}
@@ -111,4 +111,68 @@ class ExpandPropertiesTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void expandAndCoalesceSeveralGroups() {
+        rewriteRun(
+          yaml(
+            //language=yml
+            """
+              spring.datasource.url: jdbc:h2:mem:test
+              spring.datasource.username: sa
+              spring.jpa.show-sql: true
+              """,
+            //language=yml
+            """
+              spring:
+                datasource:
+                  url: jdbc:h2:mem:test
+                  username: sa
+                jpa:
+                  show-sql: true
+              """,
+            spec -> spec.path("application.yml")
+          )
+        );
+    }
+
+    @Test
+    void keyOfScalarIsNotExpanded() {
+        rewriteRun(
+          yaml(
+            //language=yml
+            """
+              server: default
+              server.port: 8080
+              server.address: localhost
+              """,
+            spec -> spec.path("application.yml")
+          )
+        );
+    }
+
+    @Test
+    void keyBeneathNestedScalarIsNotExpanded() {
+        rewriteRun(
+          yaml(
+            //language=yml
+            """
+              server:
+                port: 8080
+              server.port.ssl: true
+              spring.application.name: demo
+              """,
+            //language=yml
+            """
+              server:
+                port: 8080
+              server.port.ssl: true
+              spring:
+                application:
+                  name: demo
+              """,
+            spec -> spec.path("application.yml")
+          )
+        );
+    }
 }
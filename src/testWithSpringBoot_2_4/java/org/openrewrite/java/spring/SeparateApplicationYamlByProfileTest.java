@@ -15,15 +15,14 @@
  */
 package org.openrewrite.java.spring;
 
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
 import static org.openrewrite.java.Assertions.srcMainResources;
 import static org.openrewrite.yaml.Assertions.yaml;
 
-@Disabled
 class SeparateApplicationYamlByProfileTest implements RewriteTest {
 
     @Override
@@ -47,12 +46,12 @@ class SeparateApplicationYamlByProfileTest implements RewriteTest {
                 name: test
                 """,
               "name: main",
-              spec -> spec.path("application.yaml")
+              spec -> spec.path("application.yml")
             ),
             yaml(
               null,
               "name: test",
-              spec -> spec.path("application-test.yaml")
+              spec -> spec.path("application-test.yml")
             )
           )
         );
@@ -68,10 +67,85 @@ class SeparateApplicationYamlByProfileTest implements RewriteTest {
                 spring:
                   config:
                     activate:
-                      on-profile: !test
+                      on-profile: "!test"
+                name: test
+                """,
+              spec -> spec.path("application.yaml")
+            )
+          )
+        );
+    }
+
+    @Test
+    void keepYamlExtension() {
+        rewriteRun(
+          //language=yaml
+          srcMainResources(
+            yaml(
+              """
+                name: main
+                ---
+                spring.config.activate.on-profile: test
                 name: test
                 """,
+              "name: main",
               spec -> spec.path("application.yaml")
+            ),
+            yaml(
+              null,
+              "name: test",
+              spec -> spec.path("application-test.yaml")
+            )
+          )
+        );
+    }
+
+    @Test
+    void separateEveryProfileInOnePass() {
+        rewriteRun(
+          spec -> spec.executionContext(SpringExecutionContextView.view(new InMemoryExecutionContext())
+            .setParallelSourceFileProcessing(true)),
+          //language=yaml
+          srcMainResources(
+            yaml(
+              """
+                name: main
+                ---
+                spring:
+                  config:
+                    activate:
+                      on-profile: dev
+                name: dev
+                ---
+                spring:
+                  config:
+                    activate:
+                      on-profile: prod | cloud
+                name: not-separated
+                ---
+                spring.config.activate.on-profile: prod
+                name: prod
+                """,
+              """
+                name: main
+                ---
+                spring:
+                  config:
+                    activate:
+                      on-profile: prod | cloud
+                name: not-separated
+                """,
+              spec -> spec.path("application.yml")
+            ),
+            yaml(
+              null,
+              "name: dev",
+              spec -> spec.path("application-dev.yml")
+            ),
+            yaml(
+              null,
+              "name: prod",
+              spec -> spec.path("application-prod.yml")
             )
           )
         );
@@ -20,10 +20,12 @@ import org.junit.jupiter.api.Test;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.srcMainResources;
 import static org.openrewrite.yaml.Assertions.yaml;
 
-@Disabled
 class MergeBootstrapYamlWithApplicationYamlTest implements RewriteTest {
 
     @Override
@@ -31,6 +33,7 @@ class MergeBootstrapYamlWithApplicationYamlTest implements RewriteTest {
         spec.recipe(new MergeBootstrapYamlWithApplicationYaml());
     }
 
+    @Disabled
     @Test
     void mergeBootstrap() {
         rewriteRun(
@@ -73,4 +76,86 @@ class MergeBootstrapYamlWithApplicationYamlTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void mergeEachModuleSeparately() {
+        rewriteRun(
+          yaml(
+            "spring.application.name: a",
+            null,
+            spec -> spec.path("a/src/main/resources/bootstrap.yml")
+          ),
+          yaml(
+            "server.port: 8080",
+            """
+              server.port: 8080
+              spring.application.name: a
+              """,
+            spec -> spec.path("a/src/main/resources/application.yml")
+          ),
+          yaml(
+            "spring.application.name: b",
+            null,
+            spec -> spec.path("b/src/main/resources/bootstrap.yml")
+          ),
+          yaml(
+            "server.port: 9090",
+            """
+              server.port: 9090
+              spring.application.name: b
+              """,
+            spec -> spec.path("b/src/main/resources/application.yml")
+          ),
+          yaml(
+            "spring.application.name: c",
+            spec -> spec.path("c/src/main/resources/bootstrap.yml").afterRecipe(application ->
+              assertThat(application.getSourcePath()).isEqualTo(Paths.get("c/src/main/resources/application.yml")))
+          )
+        );
+    }
+
+    @Test
+    void mergeEveryDocumentIntoItsProfile() {
+        rewriteRun(
+          srcMainResources(
+            //language=yaml
+            yaml(
+              """
+                spring.cloud.config.uri: http://config
+                ---
+                spring.config.activate.on-profile: test
+                spring.cloud.config.uri: http://test-config
+                ---
+                spring.config.activate.on-profile: prod
+                spring.cloud.config.uri: http://prod-config
+                """,
+              null,
+              spec -> spec.path("bootstrap.yml")
+            ),
+            //language=yaml
+            yaml(
+              """
+                server.port: 8080
+                ---
+                spring.config.activate.on-profile: test
+                server.port: 8081
+                """,
+              """
+                server.port: 8080
+                spring.cloud.config.uri: http://config
+                ---
+                spring:
+                  config.activate.on-profile: test
+                  cloud.config.uri: http://test-config
+                server.port: 8081
+                ---
+                spring:
+                  config.activate.on-profile: prod
+                  cloud.config.uri: http://prod-config
+                """,
+              spec -> spec.path("application.yml")
+            )
+          )
+        );
+    }
 }
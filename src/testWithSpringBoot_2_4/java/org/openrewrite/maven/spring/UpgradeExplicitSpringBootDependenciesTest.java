@@ -486,7 +486,7 @@ class UpgradeExplicitSpringBootDependenciesTest implements RewriteTest {
             srcMainJava(
               java("class A{}")
             ),
-            //language=xml
+              //language=xml
             pomXml(
               """
                 <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
@@ -595,7 +595,7 @@ class UpgradeExplicitSpringBootDependenciesTest implements RewriteTest {
             srcMainJava(
               java("class A{}")
             ),
-            //language=xml
+              //language=xml
             pomXml(
               """
                 <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
@@ -705,7 +705,7 @@ class UpgradeExplicitSpringBootDependenciesTest implements RewriteTest {
             srcMainJava(
               java("class A{}")
             ),
-            //language=xml
+              //language=xml
             pomXml(
               """
                 <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
@@ -873,4 +873,166 @@ class UpgradeExplicitSpringBootDependenciesTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void shouldUpdatePropertySharedByDependencies() {
+        rewriteRun(
+          spec -> spec.recipe(new UpgradeExplicitSpringBootDependencies("2.7.X", "3.0.0-M3"))
+            .expectedCyclesThatMakeChanges(1),
+          pomXml(
+              //language=xml
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>explicit-deps-app</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <properties>
+                        <metrics.version>4.2.8</metrics.version>
+                    </properties>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-web</artifactId>
+                            <version>2.7.3</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>io.dropwizard.metrics</groupId>
+                            <artifactId>metrics-annotation</artifactId>
+                            <version>${metrics.version}</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>io.dropwizard.metrics</groupId>
+                            <artifactId>metrics-core</artifactId>
+                            <version>${metrics.version}</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """,
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>explicit-deps-app</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <properties>
+                        <metrics.version>4.2.9</metrics.version>
+                    </properties>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-web</artifactId>
+                            <version>3.0.0-M3</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>io.dropwizard.metrics</groupId>
+                            <artifactId>metrics-annotation</artifactId>
+                            <version>${metrics.version}</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>io.dropwizard.metrics</groupId>
+                            <artifactId>metrics-core</artifactId>
+                            <version>${metrics.version}</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """
+          )
+        );
+    }
+
+    @Test
+    void shouldUpdatePropertyDeclaredInParent() {
+        rewriteRun(
+          spec -> spec.recipe(new UpgradeExplicitSpringBootDependencies("2.7.X", "3.0.0-M3"))
+            .expectedCyclesThatMakeChanges(1),
+          pomXml(
+              //language=xml
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>explicit-deps-parent</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <packaging>pom</packaging>
+                    <modules>
+                        <module>child</module>
+                    </modules>
+                    <properties>
+                        <metrics.version>4.2.8</metrics.version>
+                    </properties>
+                </project>
+                """,
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>explicit-deps-parent</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <packaging>pom</packaging>
+                    <modules>
+                        <module>child</module>
+                    </modules>
+                    <properties>
+                        <metrics.version>4.2.9</metrics.version>
+                    </properties>
+                </project>
+                """
+          ),
+          pomXml(
+              //language=xml
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>com.example</groupId>
+                        <artifactId>explicit-deps-parent</artifactId>
+                        <version>0.0.1-SNAPSHOT</version>
+                    </parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>explicit-deps-app</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-web</artifactId>
+                            <version>2.7.3</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>io.dropwizard.metrics</groupId>
+                            <artifactId>metrics-annotation</artifactId>
+                            <version>${metrics.version}</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """,
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>com.example</groupId>
+                        <artifactId>explicit-deps-parent</artifactId>
+                        <version>0.0.1-SNAPSHOT</version>
+                    </parent>
+                    <groupId>com.example</groupId>
+                    <artifactId>explicit-deps-app</artifactId>
+                    <version>0.0.1-SNAPSHOT</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-web</artifactId>
+                            <version>3.0.0-M3</version>
+                        </dependency>
+                        <dependency>
+                            <groupId>io.dropwizard.metrics</groupId>
+                            <artifactId>metrics-annotation</artifactId>
+                            <version>${metrics.version}</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """,
+            s -> s.path("child/pom.xml")
+          )
+        );
+    }
 }